@@ -0,0 +1,41 @@
+package idhub.sortinparcels.benchmark;
+
+import idhub.sortinparcels.dto.AuditEvent;
+import idhub.sortinparcels.enums.AuditEventType;
+import idhub.sortinparcels.model.ParcelAudit;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity/DTO mapping done for every row returned by the audit endpoints.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AuditMappingBenchmark {
+
+    private ParcelAudit entity;
+    private AuditEvent event;
+
+    @Setup
+    public void setUp() {
+        entity = new ParcelAudit("JD0146000065427282", AuditEventType.SCANNED, "scanner01",
+                Instant.now(), "SHIFT-2025-03-05-A", "Parcel JD0146000065427282 scanned successfully.");
+        event = AuditEvent.fromEntity(entity);
+    }
+
+    @Benchmark
+    public AuditEvent fromEntity() {
+        return AuditEvent.fromEntity(entity);
+    }
+
+    @Benchmark
+    public ParcelAudit toEntity() {
+        return event.toEntity();
+    }
+}
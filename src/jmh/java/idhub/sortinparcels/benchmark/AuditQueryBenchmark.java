@@ -0,0 +1,77 @@
+package idhub.sortinparcels.benchmark;
+
+import idhub.sortinparcels.model.ParcelAudit;
+import idhub.sortinparcels.repository.ParcelAuditRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of the indexed audit lookups (db.changelog-4.0) on a large {@code parcel_audit} table.
+ * Rows are generated server-side by H2: every parcel has 3 events, every session 20 000.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class AuditQueryBenchmark {
+
+    private static final int EVENTS_PER_PARCEL = 3;
+    private static final int EVENTS_PER_SESSION = 20_000;
+
+    @Param({"1000000", "10000000"})
+    private long auditRows;
+
+    private ConfigurableApplicationContext context;
+    private ParcelAuditRepository auditRepository;
+
+    @Setup(Level.Trial)
+    public void seed() {
+        context = BenchmarkContext.start("audit_query_bench");
+        auditRepository = context.getBean(ParcelAuditRepository.class);
+        context.getBean(JdbcTemplate.class).update("""
+                INSERT INTO parcel_audit (id, tracking_number, event, scanned_by, scanned_at, session_id, message)
+                SELECT X,
+                       'JD' || LPAD(CAST(MOD(X, ?) AS VARCHAR), 16, '0'),
+                       'SCANNED',
+                       'scanner' || MOD(X, 50),
+                       DATEADD('SECOND', -X, CURRENT_TIMESTAMP),
+                       'SHIFT-' || (X / ?),
+                       'bench'
+                FROM SYSTEM_RANGE(1, ?)
+                """, auditRows / EVENTS_PER_PARCEL, EVENTS_PER_SESSION, auditRows);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<ParcelAudit> sessionHistory() {
+        long session = ThreadLocalRandom.current().nextLong(auditRows / EVENTS_PER_SESSION);
+        return auditRepository.findBySessionIdOrderByScannedAtAsc("SHIFT-" + session);
+    }
+
+    @Benchmark
+    public List<ParcelAudit> parcelHistory() {
+        return auditRepository.findByTrackingNumberOrderByScannedAtAsc(randomTrackingNumber());
+    }
+
+    @Benchmark
+    public Optional<ParcelAudit> latestParcelEvent() {
+        return auditRepository.findFirstByTrackingNumberOrderByScannedAtDesc(randomTrackingNumber());
+    }
+
+    private String randomTrackingNumber() {
+        long parcel = ThreadLocalRandom.current().nextLong(auditRows / EVENTS_PER_PARCEL);
+        return BenchmarkContext.trackingNumber("JD", parcel);
+    }
+}
@@ -0,0 +1,52 @@
+package idhub.sortinparcels.benchmark;
+
+import idhub.sortinparcels.SortinParcelsApplication;
+import idhub.sortinparcels.dto.ParcelExcelDto;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Starts the application without a web server on a private embedded H2 database
+ * and generates manifest data for benchmarks.
+ */
+final class BenchmarkContext {
+
+    private BenchmarkContext() {
+    }
+
+    static ConfigurableApplicationContext start(String databaseName, String... extraProperties) {
+        return new SpringApplicationBuilder(SortinParcelsApplication.class)
+                .web(WebApplicationType.NONE)
+                .logStartupInfo(false)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:" + databaseName + ";DB_CLOSE_DELAY=-1;MODE=PostgreSQL",
+                        "spring.jpa.show-sql=false",
+                        "spring.jpa.properties.hibernate.format_sql=false",
+                        "logging.level.root=WARN",
+                        "parcel.audit.archive.enabled=false")
+                .properties(extraProperties)
+                .run();
+    }
+
+    /**
+     * Tracking number in the production format, e.g. {@code JD0146000065427282}.
+     */
+    static String trackingNumber(String prefix, long sequence) {
+        return prefix + String.format("%016d", sequence);
+    }
+
+    static List<ParcelExcelDto> manifest(String prefix, int rows) {
+        List<ParcelExcelDto> dtos = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            dtos.add(new ParcelExcelDto(
+                    trackingNumber(prefix, i),
+                    String.format("%02d-%02d", 80 + i % 20, i % 10),
+                    String.format("%03d", i % 300)));
+        }
+        return dtos;
+    }
+}
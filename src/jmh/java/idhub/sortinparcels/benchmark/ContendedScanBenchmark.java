@@ -0,0 +1,64 @@
+package idhub.sortinparcels.benchmark;
+
+import idhub.sortinparcels.dto.ScanResponse;
+import idhub.sortinparcels.service.ParcelService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@link ParcelService#scanParcel} under contention: {@value #THREADS} threads scan the same parcels,
+ * every parcel is read by {@value #READERS_PER_PARCEL} of them back to back (two belt readers).
+ * <p>
+ * Exactly one read per parcel must become {@code SCANNED}; the rest are repeated scans.
+ * The score is the total scan throughput of all threads.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Threads(ContendedScanBenchmark.THREADS)
+public class ContendedScanBenchmark {
+
+    static final int THREADS = 8;
+    private static final int READERS_PER_PARCEL = 2;
+    private static final int PARCELS_PER_ITERATION = 100_000;
+    private static final String SESSION = "BENCH-SESSION";
+
+    private ConfigurableApplicationContext context;
+    private ParcelService parcelService;
+
+    private final AtomicInteger reads = new AtomicInteger();
+    private volatile String prefix;
+    private int generation;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = BenchmarkContext.start("contended_scan_bench");
+        parcelService = context.getBean(ParcelService.class);
+    }
+
+    @Setup(Level.Iteration)
+    public void importFreshParcels() {
+        String next = "C" + (char) ('A' + generation++ % 26);
+        parcelService.importParcelsFromDto(BenchmarkContext.manifest(next, PARCELS_PER_ITERATION));
+        reads.set(0);
+        prefix = next;
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @Warmup(iterations = 3, time = 2)
+    @Measurement(iterations = 5, time = 2)
+    public ScanResponse duplicateReads() {
+        int parcel = reads.getAndIncrement() / READERS_PER_PARCEL % PARCELS_PER_ITERATION;
+        return parcelService.scanParcel(BenchmarkContext.trackingNumber(prefix, parcel),
+                "BELT-" + Thread.currentThread().threadId(), SESSION);
+    }
+}
@@ -0,0 +1,83 @@
+package idhub.sortinparcels.benchmark;
+
+import idhub.sortinparcels.dto.ParcelExcelDto;
+import idhub.sortinparcels.service.ExcelService;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * DOM ({@link ExcelService#parseExcel}) vs SAX ({@link ExcelService#streamExcel}) parsing
+ * of a generated .xlsx manifest.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ExcelParseBenchmark {
+
+    @Param({"10000", "100000"})
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+    private ExcelService excelService;
+    private MockMultipartFile file;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        context = BenchmarkContext.start("excel_bench");
+        excelService = context.getBean(ExcelService.class);
+        file = new MockMultipartFile("file", "manifest.xlsx",
+                "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", generateWorkbook(rows));
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public int parseDom() {
+        return excelService.parseExcel(file).size();
+    }
+
+    @Benchmark
+    public int parseStreaming() {
+        AtomicInteger parsed = new AtomicInteger();
+        excelService.streamExcel(file, chunk -> parsed.addAndGet(chunk.size()));
+        return parsed.get();
+    }
+
+    private static byte[] generateWorkbook(int rows) throws IOException {
+        List<ParcelExcelDto> manifest = BenchmarkContext.manifest("JD", rows);
+        try (SXSSFWorkbook workbook = new SXSSFWorkbook(1000);
+             ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            Sheet sheet = workbook.createSheet();
+            Row header = sheet.createRow(0);
+            header.createCell(0).setCellValue("trackingNumber");
+            header.createCell(1).setCellValue("zoneCode");
+            header.createCell(2).setCellValue("routeNumber");
+            for (int i = 0; i < manifest.size(); i++) {
+                ParcelExcelDto dto = manifest.get(i);
+                Row row = sheet.createRow(i + 1);
+                row.createCell(0).setCellValue(dto.getTrackingNumber());
+                row.createCell(1).setCellValue(dto.getZoneCode());
+                row.createCell(2).setCellValue(dto.getRouteNumber());
+            }
+            workbook.write(out);
+            workbook.dispose();
+            return out.toByteArray();
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package idhub.sortinparcels.benchmark;
+
+import idhub.sortinparcels.dto.ParcelExcelDto;
+import idhub.sortinparcels.service.ParcelIndex;
+import idhub.sortinparcels.service.ParcelService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ParcelService#importParcelsFromDto} into an empty {@code parcels} table.
+ * Score is the time of one whole import; rows/sec = rows / score.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ImportBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+    private ParcelService parcelService;
+    private JdbcTemplate jdbcTemplate;
+    private List<ParcelExcelDto> manifest;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = BenchmarkContext.start("import_bench");
+        parcelService = context.getBean(ParcelService.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        manifest = BenchmarkContext.manifest("JD", rows);
+    }
+
+    @Setup(Level.Iteration)
+    public void emptyParcels() {
+        jdbcTemplate.execute("DELETE FROM parcels");
+        context.getBean(ParcelIndex.class).clear();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public int importManifest() {
+        return parcelService.importParcelsFromDto(manifest);
+    }
+}
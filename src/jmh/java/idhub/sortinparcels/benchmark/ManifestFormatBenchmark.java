@@ -0,0 +1,127 @@
+package idhub.sortinparcels.benchmark;
+
+import idhub.sortinparcels.dto.ParcelExcelDto;
+import idhub.sortinparcels.service.BinaryManifestReader;
+import idhub.sortinparcels.service.CsvManifestReader;
+import idhub.sortinparcels.service.ExcelService;
+import idhub.sortinparcels.service.ManifestReader;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Parsing the same generated manifest as .xlsx (POI SAX streaming), CSV and the binary format.
+ * Pure parsing: rows are counted, nothing is persisted and no Spring context is started.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ManifestFormatBenchmark {
+
+    private static final int CHUNK_SIZE = 1000;
+
+    @Param({"500000"})
+    private int rows;
+
+    @Param({"EXCEL", "CSV", "BINARY"})
+    private String format;
+
+    private Path file;
+    private ManifestReader reader;
+
+    @Setup(Level.Trial)
+    public void generateManifest() throws IOException {
+        List<ParcelExcelDto> manifest = BenchmarkContext.manifest("JD", rows);
+        switch (format) {
+            case "EXCEL" -> {
+                file = Files.createTempFile("manifest-bench-", ".xlsx");
+                writeXlsx(file, manifest);
+                reader = new ExcelService();
+            }
+            case "CSV" -> {
+                file = Files.createTempFile("manifest-bench-", ".csv");
+                writeCsv(file, manifest);
+                reader = new CsvManifestReader();
+            }
+            case "BINARY" -> {
+                file = Files.createTempFile("manifest-bench-", ".spm");
+                writeBinary(file, manifest);
+                reader = new BinaryManifestReader();
+            }
+            default -> throw new IllegalArgumentException(format);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteManifest() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public int parse() {
+        AtomicInteger parsed = new AtomicInteger();
+        reader.read(file, CHUNK_SIZE, chunk -> parsed.addAndGet(chunk.size()));
+        return parsed.get();
+    }
+
+    private static void writeXlsx(Path file, List<ParcelExcelDto> manifest) throws IOException {
+        try (SXSSFWorkbook workbook = new SXSSFWorkbook(1000);
+             OutputStream out = Files.newOutputStream(file)) {
+            Sheet sheet = workbook.createSheet();
+            Row header = sheet.createRow(0);
+            header.createCell(0).setCellValue("trackingNumber");
+            header.createCell(1).setCellValue("zoneCode");
+            header.createCell(2).setCellValue("routeNumber");
+            for (int i = 0; i < manifest.size(); i++) {
+                ParcelExcelDto dto = manifest.get(i);
+                Row row = sheet.createRow(i + 1);
+                row.createCell(0).setCellValue(dto.getTrackingNumber());
+                row.createCell(1).setCellValue(dto.getZoneCode());
+                row.createCell(2).setCellValue(dto.getRouteNumber());
+            }
+            workbook.write(out);
+            workbook.dispose();
+        }
+    }
+
+    private static void writeCsv(Path file, List<ParcelExcelDto> manifest) throws IOException {
+        try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            out.write("trackingNumber,zoneCode,routeNumber\n");
+            for (ParcelExcelDto dto : manifest) {
+                out.write(dto.getTrackingNumber() + "," + dto.getZoneCode() + "," + dto.getRouteNumber() + "\n");
+            }
+        }
+    }
+
+    private static void writeBinary(Path file, List<ParcelExcelDto> manifest) throws IOException {
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file))) {
+            out.write(BinaryManifestReader.MAGIC);
+            for (ParcelExcelDto dto : manifest) {
+                writeField(out, dto.getTrackingNumber());
+                writeField(out, dto.getZoneCode());
+                writeField(out, dto.getRouteNumber());
+            }
+        }
+    }
+
+    private static void writeField(OutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.write(bytes.length);
+        out.write(bytes);
+    }
+}
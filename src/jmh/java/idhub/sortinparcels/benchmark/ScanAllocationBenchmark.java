@@ -0,0 +1,73 @@
+package idhub.sortinparcels.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import idhub.sortinparcels.dto.AuditEvent;
+import idhub.sortinparcels.dto.ScanResponse;
+import idhub.sortinparcels.enums.AuditEventType;
+import idhub.sortinparcels.model.ParcelAudit;
+import idhub.sortinparcels.utils.ScanReplyWriter;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-scan objects outside the database: the audit row and the reply body.
+ * <p>
+ * Meant to be run with the GC profiler — {@code gc.alloc.rate.norm} is the number of bytes allocated per scan:
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec -Djmh.args="ScanAllocationBenchmark -prof gc"
+ * </pre>
+ * The {@code legacy*} methods reproduce the previous path (rendered audit message, reflective
+ * {@code ObjectMapper.writeValueAsBytes}); the others are the current one.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScanAllocationBenchmark {
+
+    private static final String TRACKING_NUMBER = "JD0146000065427282";
+    private static final String SCANNER = "scanner01";
+    private static final String SESSION = "SHIFT-2025-03-05-A";
+    private static final String ROUTE = "225";
+
+    private ObjectMapper objectMapper;
+    private ScanReplyWriter replyWriter;
+
+    @Setup
+    public void setUp() {
+        objectMapper = JsonMapper.builder().findAndAddModules().build();
+        replyWriter = new ScanReplyWriter(objectMapper);
+    }
+
+    @Benchmark
+    public ParcelAudit legacyAuditRow() {
+        AuditEvent event = new AuditEvent("Parcel " + TRACKING_NUMBER + " scanned successfully.",
+                TRACKING_NUMBER, AuditEventType.SCANNED, SCANNER, Instant.now(), SESSION);
+        return event.toEntity();
+    }
+
+    @Benchmark
+    public ParcelAudit auditRow() {
+        return AuditEvent.successScan(TRACKING_NUMBER, SCANNER, SESSION).toEntity();
+    }
+
+    @Benchmark
+    public byte[] legacyJsonReply() throws Exception {
+        return objectMapper.writeValueAsBytes(ScanResponse.success(ROUTE));
+    }
+
+    @Benchmark
+    public byte[] jsonReply() {
+        return replyWriter.json(ScanResponse.success(ROUTE));
+    }
+
+    @Benchmark
+    public byte[] plainTextReply() {
+        return replyWriter.plainText(ScanResponse.success(ROUTE));
+    }
+}
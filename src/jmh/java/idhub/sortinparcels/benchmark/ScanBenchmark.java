@@ -0,0 +1,71 @@
+package idhub.sortinparcels.benchmark;
+
+import idhub.sortinparcels.dto.ScanResponse;
+import idhub.sortinparcels.service.ParcelService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ParcelService#scanParcel} for first and repeated scans.
+ * <p>
+ * First scans run as single-shot batches: every iteration imports {@value #PARCELS_PER_ITERATION}
+ * fresh parcels and scans each one exactly once, so the score is the time of the whole batch.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+public class ScanBenchmark {
+
+    private static final int PARCELS_PER_ITERATION = 10_000;
+    private static final String SCANNER = "BENCH-SCANNER";
+    private static final String SESSION = "BENCH-SESSION";
+
+    private ConfigurableApplicationContext context;
+    private ParcelService parcelService;
+
+    private String prefix;
+    private int generation;
+    private int next;
+    private String repeatedTrackingNumber;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = BenchmarkContext.start("scan_bench");
+        parcelService = context.getBean(ParcelService.class);
+
+        parcelService.importParcelsFromDto(BenchmarkContext.manifest("RS", 1));
+        repeatedTrackingNumber = BenchmarkContext.trackingNumber("RS", 0);
+        parcelService.scanParcel(repeatedTrackingNumber, SCANNER, SESSION);
+    }
+
+    @Setup(Level.Iteration)
+    public void importFreshParcels() {
+        prefix = "F" + (char) ('A' + generation++ % 26);
+        parcelService.importParcelsFromDto(BenchmarkContext.manifest(prefix, PARCELS_PER_ITERATION));
+        next = 0;
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 3, batchSize = PARCELS_PER_ITERATION)
+    @Measurement(iterations = 5, batchSize = PARCELS_PER_ITERATION)
+    public ScanResponse firstScan() {
+        return parcelService.scanParcel(BenchmarkContext.trackingNumber(prefix, next++), SCANNER, SESSION);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Warmup(iterations = 3, time = 2)
+    @Measurement(iterations = 5, time = 2)
+    public ScanResponse repeatedScan() {
+        return parcelService.scanParcel(repeatedTrackingNumber, SCANNER, SESSION);
+    }
+}
@@ -0,0 +1,155 @@
+package idhub.sortinparcels.benchmark;
+
+import idhub.sortinparcels.SortinParcelsApplication;
+import idhub.sortinparcels.service.ParcelService;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop HTTP load test of {@code POST /api/parcels/scan/{trackingNumber}}:
+ * platform-thread Tomcat versus {@code spring.threads.virtual.enabled=true}.
+ * <p>
+ * For each mode the application is started with a real web server on a random port,
+ * {@code parcels} manifest rows are imported, and {@code connections} scanner clients
+ * (one virtual thread each) scan back to back for {@code seconds}. Prints throughput and
+ * exact p50/p99/p99.9/max latency per mode.
+ * <p>
+ * Not a JMH benchmark — run it through the benchmark profile with another main class:
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec -Dbenchmark.main=idhub.sortinparcels.benchmark.ScanLoadTest \
+ *     -Djmh.args="1000 30 500000"
+ * </pre>
+ * Arguments: connections (default 1000), seconds (default 30), parcels (default 500000).
+ */
+public final class ScanLoadTest {
+
+    private static final String SESSION = "LOAD-SESSION";
+
+    /**
+     * Upper bound for one scan request; a slower request is counted as an error and the client moves on.
+     */
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(10);
+
+    private ScanLoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int connections = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 30;
+        int parcels = args.length > 2 ? Integer.parseInt(args[2]) : 500_000;
+
+        for (boolean virtualThreads : new boolean[]{false, true}) {
+            run(virtualThreads, connections, seconds, parcels);
+        }
+    }
+
+    private static void run(boolean virtualThreads, int connections, int seconds, int parcels) throws Exception {
+        String mode = virtualThreads ? "virtual" : "platform";
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(SortinParcelsApplication.class)
+                .logStartupInfo(false)
+                .properties(
+                        "server.port=0",
+                        "spring.threads.virtual.enabled=" + virtualThreads,
+                        "spring.datasource.url=jdbc:h2:mem:load_" + mode + ";DB_CLOSE_DELAY=-1;MODE=PostgreSQL",
+                        "spring.jpa.show-sql=false",
+                        "spring.jpa.properties.hibernate.format_sql=false",
+                        "logging.level.root=WARN",
+                        "parcel.audit.archive.enabled=false")
+                .run()) {
+
+            context.getBean(ParcelService.class).importParcelsFromDto(BenchmarkContext.manifest("LT", parcels));
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            String baseUrl = "http://localhost:" + port + "/api/parcels/scan/";
+
+            // Short warm-up so JIT and pool start-up do not end up in the measured window
+            drive(baseUrl, Math.min(connections, 50), 5, parcels, new AtomicInteger(parcels / 2));
+            Result result = drive(baseUrl, connections, seconds, parcels, new AtomicInteger());
+            System.out.printf("%-8s connections=%d requests=%d errors=%d throughput=%.0f req/s "
+                            + "p50=%.2fms p99=%.2fms p99.9=%.2fms max=%.2fms%n",
+                    mode, connections, result.latencies.length, result.errors,
+                    result.latencies.length / (double) seconds,
+                    percentile(result.latencies, 0.50), percentile(result.latencies, 0.99),
+                    percentile(result.latencies, 0.999), percentile(result.latencies, 1.0));
+        }
+    }
+
+    private static Result drive(String baseUrl, int connections, int seconds, int parcels,
+                                AtomicInteger nextParcel) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+        long[][] perClient = new long[connections][];
+        AtomicLong errors = new AtomicLong();
+        CountDownLatch done = new CountDownLatch(connections);
+
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1)
+                     .connectTimeout(REQUEST_TIMEOUT).build()) {
+            for (int c = 0; c < connections; c++) {
+                int client = c;
+                clients.submit(() -> {
+                    long[] latencies = new long[1024];
+                    int count = 0;
+                    try {
+                        while (System.nanoTime() < deadline) {
+                            String trackingNumber = BenchmarkContext.trackingNumber("LT",
+                                    Math.floorMod(nextParcel.getAndIncrement(), parcels));
+                            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + trackingNumber))
+                                    .POST(HttpRequest.BodyPublishers.noBody())
+                                    .timeout(REQUEST_TIMEOUT)
+                                    .build();
+                            long start = System.nanoTime();
+                            HttpResponse<Void> response;
+                            try {
+                                response = http.send(request, HttpResponse.BodyHandlers.discarding());
+                            } catch (IOException e) {
+                                // Timeouts and dropped connections are failed requests, not the end of the client
+                                errors.incrementAndGet();
+                                continue;
+                            }
+                            long elapsed = System.nanoTime() - start;
+                            if (response.statusCode() != 200) {
+                                errors.incrementAndGet();
+                                continue;
+                            }
+                            if (count == latencies.length) {
+                                latencies = Arrays.copyOf(latencies, count * 2);
+                            }
+                            latencies[count++] = elapsed;
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        perClient[client] = Arrays.copyOf(latencies, count);
+                        done.countDown();
+                    }
+                });
+            }
+            done.await();
+        }
+
+        long[] all = Arrays.stream(perClient).flatMapToLong(Arrays::stream).sorted().toArray();
+        return new Result(all, errors.get());
+    }
+
+    private static double percentile(long[] sortedNanos, double quantile) {
+        if (sortedNanos.length == 0) return 0;
+        int index = (int) Math.ceil(quantile * sortedNanos.length) - 1;
+        return sortedNanos[Math.max(index, 0)] / 1_000_000.0;
+    }
+
+    private record Result(long[] latencies, long errors) {
+    }
+}
@@ -0,0 +1,142 @@
+package idhub.sortinparcels.benchmark;
+
+import idhub.sortinparcels.dto.ParcelSnapshot;
+import idhub.sortinparcels.enums.ParcelStatus;
+import idhub.sortinparcels.service.ParcelIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Heap held by the parcel index of a whole day, String-keyed map against the packed {@link ParcelIndex}.
+ * <p>
+ * The {@code *Footprint} methods build the index for {@code parcels} snapshots as {@code rebuild()} would
+ * (every snapshot brings its own strings, like rows read through JDBC) and report the retained heap
+ * as the {@code retainedBytes} / {@code bytesPerParcel} secondary results, measured after full GCs:
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec -Djmh.args="TrackingNumberFootprintBenchmark"
+ * </pre>
+ * The {@code *Lookup} methods compare the cost of one scan-path lookup on the filled structures.
+ * The {@code stringMap*} methods reproduce the previous {@code ConcurrentHashMap<String, Entry>} index.
+ */
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx6g", "-XX:+UseParallelGC"})
+public class TrackingNumberFootprintBenchmark {
+
+    private static final String PREFIX = "JD";
+    private static final int PROBES = 4096;
+
+    @Param({"1000000", "5000000"})
+    private int parcels;
+
+    private Map<String, ParcelIndex.Entry> stringMap;
+    private ParcelIndex packedIndex;
+    private String[] probes;
+    private int nextProbe;
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Footprint {
+        public long retainedBytes;
+        public double bytesPerParcel;
+    }
+
+    @Setup(Level.Trial)
+    public void fill() {
+        stringMap = buildStringMap();
+        packedIndex = buildPackedIndex();
+        probes = new String[PROBES];
+        for (int i = 0; i < PROBES; i++) {
+            probes[i] = BenchmarkContext.trackingNumber(PREFIX, ThreadLocalRandom.current().nextInt(parcels));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void release() {
+        stringMap = null;
+        packedIndex = null;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public Object stringMapFootprint(Footprint footprint) {
+        long before = usedHeap();
+        Map<String, ParcelIndex.Entry> index = buildStringMap();
+        record(footprint, usedHeap() - before);
+        return index;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public Object packedIndexFootprint(Footprint footprint) {
+        long before = usedHeap();
+        ParcelIndex index = buildPackedIndex();
+        record(footprint, usedHeap() - before);
+        return index;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    public ParcelIndex.Entry stringMapLookup() {
+        return stringMap.get(nextProbe());
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    public Optional<ParcelIndex.Entry> packedIndexLookup() {
+        return packedIndex.lookup(nextProbe());
+    }
+
+    private Map<String, ParcelIndex.Entry> buildStringMap() {
+        Map<String, ParcelIndex.Entry> index = new ConcurrentHashMap<>();
+        for (int i = 0; i < parcels; i++) {
+            ParcelSnapshot snapshot = snapshot(i);
+            index.put(snapshot.trackingNumber(), ParcelIndex.Entry.of(snapshot));
+        }
+        return index;
+    }
+
+    private ParcelIndex buildPackedIndex() {
+        ParcelIndex index = new ParcelIndex(null);
+        for (int i = 0; i < parcels; i++) {
+            index.put(snapshot(i));
+        }
+        return index;
+    }
+
+    private ParcelSnapshot snapshot(int i) {
+        return new ParcelSnapshot(
+                BenchmarkContext.trackingNumber(PREFIX, i),
+                String.format("%02d-%02d", 80 + i % 20, i % 10),
+                String.format("%03d", i % 300),
+                ParcelStatus.PENDING,
+                null,
+                null);
+    }
+
+    private String nextProbe() {
+        return probes[nextProbe++ & (PROBES - 1)];
+    }
+
+    private void record(Footprint footprint, long bytes) {
+        footprint.retainedBytes = bytes;
+        footprint.bytesPerParcel = (double) bytes / parcels;
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
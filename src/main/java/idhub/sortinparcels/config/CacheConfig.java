@@ -0,0 +1,36 @@
+package idhub.sortinparcels.config;
+
+import idhub.sortinparcels.enums.ParcelStatus;
+import idhub.sortinparcels.service.ParcelCaches;
+import idhub.sortinparcels.utils.BoundedTtlCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * Lookup caches with size and TTL eviction (see {@link ParcelCaches} for what is cached and when it is evicted).
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    @Bean
+    public CacheManager cacheManager(
+            @Value("${parcel.cache.parcels.max-size:10000}") int parcelsMaxSize,
+            @Value("${parcel.cache.parcels.ttl-seconds:300}") long parcelsTtl,
+            @Value("${parcel.cache.audit.max-size:10000}") int auditMaxSize,
+            @Value("${parcel.cache.audit.ttl-seconds:60}") long auditTtl,
+            @Value("${parcel.cache.status-counts.ttl-seconds:10}") long statusCountsTtl) {
+        SimpleCacheManager cacheManager = new SimpleCacheManager();
+        cacheManager.setCaches(List.of(
+                new BoundedTtlCache(ParcelCaches.PARCELS, parcelsMaxSize, parcelsTtl),
+                new BoundedTtlCache(ParcelCaches.AUDIT_BY_TRACKING_NUMBER, auditMaxSize, auditTtl),
+                new BoundedTtlCache(ParcelCaches.STATUS_COUNTS, ParcelStatus.values().length, statusCountsTtl)));
+        return cacheManager;
+    }
+}
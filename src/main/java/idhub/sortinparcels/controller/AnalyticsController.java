@@ -0,0 +1,47 @@
+package idhub.sortinparcels.controller;
+
+import idhub.sortinparcels.dto.SessionSummary;
+import idhub.sortinparcels.service.SessionAnalytics;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@Tag(name = "Analytics", description = "Shift and session statistics computed incrementally from audit events")
+@RestController
+@RequestMapping("/api/analytics")
+@RequiredArgsConstructor
+public class AnalyticsController {
+
+    private final SessionAnalytics sessionAnalytics;
+
+    @Operation(summary = "Get summaries of all recent sessions",
+            description = "Counts by event type, repeat rate, first/last scan and throughput per session, "
+                    + "most recent first")
+    @GetMapping("/sessions")
+    public List<SessionSummary> getSessions() {
+        return sessionAnalytics.getSummaries();
+    }
+
+    @Operation(summary = "Get a session summary",
+            description = "Aggregates of one session with a per-scanner breakdown and events per minute; "
+                    + "served from in-memory counters instead of raw audit rows")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Session summary"),
+            @ApiResponse(responseCode = "404", description = "No scans recorded for the session")
+    })
+    @GetMapping("/sessions/{sessionId}")
+    public SessionSummary getSession(
+            @Parameter(description = "Session identifier", example = "SHIFT-2025-03-20-A")
+            @PathVariable String sessionId) {
+        return sessionAnalytics.getSummary(sessionId);
+    }
+}
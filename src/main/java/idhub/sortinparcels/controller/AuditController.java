@@ -1,12 +1,22 @@
 package idhub.sortinparcels.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import idhub.sortinparcels.dto.AuditEvent;
+import idhub.sortinparcels.dto.AuditWriterStats;
+import idhub.sortinparcels.dto.CursorPage;
+import idhub.sortinparcels.model.ParcelAudit;
+import idhub.sortinparcels.service.AuditArchiveService;
 import idhub.sortinparcels.service.AuditService;
+import idhub.sortinparcels.service.ParcelService;
+import idhub.sortinparcels.utils.NdjsonUtil;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -17,18 +27,50 @@ import java.util.List;
 public class AuditController {
 
     private final AuditService auditService;
+    private final AuditArchiveService auditArchiveService;
+    private final ObjectMapper objectMapper;
 
-    @Operation(summary = "Get all audit events",
-            description = "Returns complete history of parcel scan operations")
+    /**
+     * @deprecated Use {@link #getEventsPage} or {@link #streamAllEvents}.
+     */
+    @Deprecated
+    @Operation(summary = "Get audit events, first page only", deprecated = true,
+            description = "Returns at most 'limit' events (the first keyset page) instead of the complete history. "
+                    + "Use /all/page to page through the history or /all/stream for NDJSON.")
     @GetMapping("/all")
-    public List<AuditEvent> getAllEvents() {
+    public List<AuditEvent> getAllEvents(
+            @RequestParam(value = "limit", defaultValue = "" + ParcelService.MAX_PAGE_SIZE) int limit) {
 
-        return auditService.getAllEvents()
+        return auditService.getEvents(0, limit).getItems()
                 .stream()
                 .map(AuditEvent::fromEntity)
                 .toList();
     }
 
+    @Operation(summary = "Get a keyset page of audit events",
+            description = "Returns up to 'limit' events with id greater than 'after'. "
+                    + "Pass the returned nextCursor as 'after' to fetch the next page.")
+    @GetMapping("/all/page")
+    public CursorPage<AuditEvent> getEventsPage(
+            @RequestParam(value = "after", defaultValue = "0") long after,
+            @RequestParam(value = "limit", defaultValue = "100") int limit) {
+
+        CursorPage<ParcelAudit> page = auditService.getEvents(after, limit);
+        return new CursorPage<>(
+                page.getItems().stream().map(AuditEvent::fromEntity).toList(),
+                page.getNextCursor());
+    }
+
+    @Operation(summary = "Stream all audit events as NDJSON",
+            description = "Writes one JSON object per line while rows are read from the database cursor")
+    @GetMapping(value = "/all/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllEvents() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(NdjsonUtil.ndjson(objectMapper,
+                        sink -> auditService.streamAllEvents(audit -> sink.accept(AuditEvent.fromEntity(audit)))));
+    }
+
     @Operation(summary = "Get audit events by session ID",
             description = "Returns all scan events grouped by a specific scanning session")
     @GetMapping("/session/{sessionId}")
@@ -55,4 +97,46 @@ public class AuditController {
                 .map(AuditEvent::fromEntity)
                 .toList();
     }
+
+    @Operation(summary = "Get audit writer statistics",
+            description = "Returns queue depth, throughput and backpressure counters of the audit pipeline")
+    @GetMapping("/writer/stats")
+    public AuditWriterStats getWriterStats() {
+        return auditService.getWriterStats();
+    }
+
+    @Operation(summary = "Get archived audit events by session ID",
+            description = "Returns events of a session that already left the hot retention window")
+    @GetMapping("/archive/session/{sessionId}")
+    public List<AuditEvent> getArchivedEventsBySession(
+            @Parameter(description = "Session identifier", example = "SHIFT-2025-03-20-A")
+            @PathVariable String sessionId) {
+
+        return auditArchiveService.getArchivedEventsBySession(sessionId)
+                .stream()
+                .map(AuditEvent::fromEntity)
+                .toList();
+    }
+
+    @Operation(summary = "Get archived audit events by tracking number",
+            description = "Returns archived history of operations performed on a specific parcel")
+    @GetMapping("/archive/parcel/{trackingNumber}")
+    public List<AuditEvent> getArchivedEventsByTrackingNumber(
+            @Parameter(description = "Parcel tracking number", example = "JD0146000065427282")
+            @PathVariable String trackingNumber) {
+
+        return auditArchiveService.getArchivedEventsByTrackingNumber(trackingNumber)
+                .stream()
+                .map(AuditEvent::fromEntity)
+                .toList();
+    }
+
+    @Operation(summary = "Archive expired audit events now",
+            description = "Moves events older than the hot retention window into the archive table; "
+                    + "normally done by a scheduled job")
+    @PostMapping("/archive/run")
+    public ResponseEntity<String> archiveNow() {
+        long archived = auditArchiveService.archiveExpired();
+        return ResponseEntity.ok("Archived " + archived + " audit events");
+    }
 }
@@ -0,0 +1,63 @@
+package idhub.sortinparcels.controller;
+
+import idhub.sortinparcels.dto.ImportJobProgress;
+import idhub.sortinparcels.service.ImportJobService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.List;
+
+@Tag(name = "Import jobs", description = "Asynchronous, resumable manifest imports")
+@RestController
+@RequestMapping("/api/imports")
+@RequiredArgsConstructor
+public class ImportJobController {
+
+    private final ImportJobService importJobService;
+
+    @Operation(summary = "Start an asynchronous manifest import",
+            description = "Stores the file and returns the job right away. Rows are persisted in chunks "
+                    + "by a worker pool, one transaction per chunk; poll the job for progress.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Job accepted")
+    })
+    @PostMapping
+    public ResponseEntity<ImportJobProgress> submit(@RequestParam("file") MultipartFile file) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(importJobService.submit(file));
+    }
+
+    @Operation(summary = "List import jobs, newest first")
+    @GetMapping
+    public List<ImportJobProgress> getJobs() {
+        return importJobService.getJobs();
+    }
+
+    @Operation(summary = "Get state and progress of an import job")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Job progress"),
+            @ApiResponse(responseCode = "404", description = "Job not found")
+    })
+    @GetMapping("/{jobId}")
+    public ImportJobProgress getProgress(
+            @Parameter(description = "Job id returned by the upload")
+            @PathVariable String jobId) {
+        return importJobService.getProgress(jobId);
+    }
+
+    @Operation(summary = "Resume a failed import job",
+            description = "Re-reads the stored file and skips every chunk that was already committed")
+    @PostMapping("/{jobId}/resume")
+    public ImportJobProgress resume(
+            @Parameter(description = "Job id returned by the upload")
+            @PathVariable String jobId) {
+        return importJobService.resume(jobId);
+    }
+}
@@ -0,0 +1,29 @@
+package idhub.sortinparcels.controller;
+
+import idhub.sortinparcels.service.MetricsExporter;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@Tag(name = "Metrics", description = "Scan pipeline instrumentation")
+@RestController
+@RequestMapping("/api/metrics")
+@RequiredArgsConstructor
+public class MetricsController {
+
+    private static final String PROMETHEUS_TEXT = "text/plain; version=0.0.4; charset=utf-8";
+
+    private final MetricsExporter metricsExporter;
+
+    @Operation(summary = "Scrape metrics in Prometheus text format",
+            description = "Scan stage latency histograms (lookup, update, audit, total) with p50/p99, "
+                    + "scan outcome counters, slow scans per route and zone, import throughput, "
+                    + "index, audit writer, connection pool and Hibernate statistics")
+    @GetMapping(value = "/prometheus", produces = PROMETHEUS_TEXT)
+    public String scrape() {
+        return metricsExporter.scrape();
+    }
+}
@@ -1,25 +1,46 @@
 package idhub.sortinparcels.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import idhub.sortinparcels.dto.CursorPage;
+import idhub.sortinparcels.dto.IndexStats;
 import idhub.sortinparcels.dto.ParcelExcelDto;
+import idhub.sortinparcels.dto.ScanRequest;
 import idhub.sortinparcels.dto.ScanResponse;
+import idhub.sortinparcels.dto.TransitionRequest;
+import idhub.sortinparcels.dto.TransitionResult;
 import idhub.sortinparcels.model.Parcel;
+import idhub.sortinparcels.enums.ManifestFormat;
 import idhub.sortinparcels.enums.ParcelStatus;
+import idhub.sortinparcels.enums.ScanOutcome;
+import idhub.sortinparcels.exceptions.StationNotFoundException;
 
 import idhub.sortinparcels.service.ExcelService;
+import idhub.sortinparcels.service.ManifestReaders;
+import idhub.sortinparcels.service.ParcelLifecycleService;
 import idhub.sortinparcels.service.ParcelService;
+import idhub.sortinparcels.utils.NdjsonUtil;
+import idhub.sortinparcels.utils.ScanReplyWriter;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Tag(name = "Parcel", description = "Operations on parcels")
 @Slf4j
@@ -29,53 +50,226 @@ import java.util.List;
 public class ParcelController {
 
     private final ExcelService excelService;
+    private final ManifestReaders manifestReaders;
     private final ParcelService parcelService;
+    private final ParcelLifecycleService parcelLifecycleService;
+    private final ObjectMapper objectMapper;
+    private final ScanReplyWriter scanReplyWriter;
 
-    @Operation(summary = "Upload parcels via Excel file",
-            description = "Uploads an Excel file containing parcels. Each row should contain trackingNumber, zoneCode, routeNumber")
+    @Operation(summary = "Upload parcels via manifest file",
+            description = "Uploads an Excel, CSV or binary manifest containing parcels. "
+                    + "Each row should contain trackingNumber, zoneCode, routeNumber. "
+                    + "The format is chosen by content type, then by file extension (.xlsx/.xls, .csv, .spm)")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "File uploaded successfully"),
             @ApiResponse(responseCode = "400", description = "Invalid file format")
     })
     @PostMapping("/upload")
-    public ResponseEntity<String> uploadParcels(@RequestParam("file") MultipartFile file) {
+    public ResponseEntity<String> uploadParcels(
+            @RequestParam("file") MultipartFile file,
+            @Parameter(description = "Stream the sheet row by row and persist it chunk by chunk "
+                    + "(bounded memory, one transaction per chunk)")
+            @RequestParam(value = "streaming", defaultValue = "false") boolean streaming) {
+        ManifestFormat format = manifestReaders.detect(file.getContentType(), file.getOriginalFilename());
+        if (streaming || format != ManifestFormat.EXCEL) {
+            AtomicInteger importedCount = new AtomicInteger();
+            manifestReaders.read(file,
+                    chunk -> importedCount.addAndGet(parcelService.importParcelsFromDto(chunk)));
+            return ResponseEntity.ok("Successfully uploaded " + importedCount.get() + " parcels");
+        }
         List<ParcelExcelDto> inputList = excelService.parseExcel(file);
         int importedCount = parcelService.importParcelsFromDto(inputList);
         return ResponseEntity.ok("Successfully uploaded " + importedCount + " parcels");
     }
 
-    @Operation(summary = "Get all unscanned parcels (status=PENDING)")
+    /**
+     * @deprecated Use {@link #getParcelsPage} or {@link #streamParcels}.
+     */
+    @Deprecated
+    @Operation(summary = "Get unscanned parcels (status=PENDING), first page only", deprecated = true,
+            description = "Returns at most 'limit' parcels (the first keyset page) instead of the whole table. "
+                    + "Use /status/PENDING/page to page through all of them or /status/PENDING/stream for NDJSON.")
     @GetMapping("/pending")
-    public List<Parcel> getPendingParcels() {
-        return parcelService.getParcelsByStatus(ParcelStatus.PENDING);
+    public List<Parcel> getPendingParcels(
+            @RequestParam(value = "limit", defaultValue = "" + ParcelService.MAX_PAGE_SIZE) int limit) {
+        return parcelService.getParcelsByStatus(ParcelStatus.PENDING, 0, limit).getItems();
     }
 
-    @Operation(summary = "Get all scanned parcels (status=SCANNED)")
+    /**
+     * @deprecated Use {@link #getParcelsPage} or {@link #streamParcels}.
+     */
+    @Deprecated
+    @Operation(summary = "Get scanned parcels (status=SCANNED), first page only", deprecated = true,
+            description = "Returns at most 'limit' parcels (the first keyset page) instead of the whole table. "
+                    + "Use /status/SCANNED/page to page through all of them or /status/SCANNED/stream for NDJSON.")
     @GetMapping("/scanned")
-    public List<Parcel> getScannedParcels() {
-        return parcelService.getParcelsByStatus(ParcelStatus.SCANNED);
+    public List<Parcel> getScannedParcels(
+            @RequestParam(value = "limit", defaultValue = "" + ParcelService.MAX_PAGE_SIZE) int limit) {
+        return parcelService.getParcelsByStatus(ParcelStatus.SCANNED, 0, limit).getItems();
+    }
+
+    @Operation(summary = "Get a parcel by tracking number",
+            description = "Served from a bounded, TTL-expiring cache; scans evict the entry after commit")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Parcel found"),
+            @ApiResponse(responseCode = "404", description = "Parcel not found")
+    })
+    @GetMapping("/{trackingNumber}")
+    public Parcel getParcel(
+            @Parameter(description = "Parcel tracking number", example = "JD0146000065427282")
+            @PathVariable String trackingNumber) {
+        return parcelService.getParcel(trackingNumber);
+    }
+
+    @Operation(summary = "Count parcels by status",
+            description = "Cached for a few seconds; evicted by scans and imports")
+    @GetMapping("/status/{status}/count")
+    public long countParcels(
+            @Parameter(description = "Parcel status", example = "PENDING")
+            @PathVariable ParcelStatus status) {
+        return parcelService.countByStatus(status);
+    }
+
+    @Operation(summary = "Get a keyset page of parcels by status",
+            description = "Returns up to 'limit' parcels with id greater than 'after'. "
+                    + "Pass the returned nextCursor as 'after' to fetch the next page.")
+    @GetMapping("/status/{status}/page")
+    public CursorPage<Parcel> getParcelsPage(
+            @Parameter(description = "Parcel status", example = "PENDING")
+            @PathVariable ParcelStatus status,
+            @RequestParam(value = "after", defaultValue = "0") long after,
+            @RequestParam(value = "limit", defaultValue = "100") int limit) {
+        return parcelService.getParcelsByStatus(status, after, limit);
+    }
+
+    @Operation(summary = "Stream parcels by status as NDJSON",
+            description = "Writes one JSON object per line while rows are read from the database cursor; "
+                    + "memory use does not depend on the number of parcels.")
+    @GetMapping(value = "/status/{status}/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamParcels(
+            @Parameter(description = "Parcel status", example = "SCANNED")
+            @PathVariable ParcelStatus status) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(NdjsonUtil.ndjson(objectMapper, sink -> parcelService.streamParcelsByStatus(status, sink)));
     }
 
     @Operation(
             summary = "Scan a parcel by tracking number",
             description = "Marks a parcel as scanned and returns route information. "
                     + "If the parcel was already scanned, no duplicate update occurs, "
-                    + "but an audit record is still created."
+                    + "but an audit record is still created. "
+                    + "With 'Accept: text/plain' the reply is a single line for handheld scanners: "
+                    + "'SCANNED 225', 'ALREADY_SCANNED 225 <scannedAt> <scannedBy>' or 'NOT_FOUND <trackingNumber>'. "
+                    + "With 'stationId' the parcel must belong to a route or zone of that station; otherwise "
+                    + "it is not scanned, an INVALID_SCAN audit is written and the reply is 'MISROUTED <route>'."
     )
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Parcel successfully scanned or already scanned"),
-            @ApiResponse(responseCode = "404", description = "Parcel not found")
+            @ApiResponse(responseCode = "200", description = "Parcel successfully scanned or already scanned",
+                    content = {@Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ScanResponse.class)),
+                            @Content(mediaType = MediaType.TEXT_PLAIN_VALUE)}),
+            @ApiResponse(responseCode = "404", description = "Parcel not found (unknown barcodes are rejected by "
+                    + "a Bloom filter without a database query) or station has no routes assigned")
     })
     @PostMapping("/scan/{trackingNumber}")
-    public ResponseEntity<ScanResponse> scanParcel(
+    public ResponseEntity<byte[]> scanParcel(
             @Parameter(description = "Tracking number of the parcel to scan", example = "JD0146000065427282")
-            @PathVariable String trackingNumber
-
+            @PathVariable String trackingNumber,
+            @Parameter(description = "Sort station of the scanner; enables the misroute check", example = "ST-07")
+            @RequestParam(value = "stationId", required = false) String stationId,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept
     ) {
         String scannedBy = getCurrentScanner(); // method that returns the scanner ID
         String sessionId = getCurrentSessionId(); // method that returns the current session
-        ScanResponse response = parcelService.scanParcel(trackingNumber, scannedBy, sessionId);
-        return ResponseEntity.ok(response);
+        if (!wantsPlainText(accept)) {
+            ScanResponse response = parcelService.scanParcel(trackingNumber, scannedBy, sessionId, stationId);
+            return ResponseEntity.status(statusOf(response))
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(scanReplyWriter.json(response));
+        }
+        try {
+            ScanResponse response = parcelService.scanParcel(trackingNumber, scannedBy, sessionId, stationId);
+            if (response.getOutcome() == ScanOutcome.NOT_FOUND) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .contentType(ScanReplyWriter.TEXT_PLAIN_UTF8)
+                        .body(scanReplyWriter.notFound(trackingNumber));
+            }
+            return ResponseEntity.ok()
+                    .contentType(ScanReplyWriter.TEXT_PLAIN_UTF8)
+                    .body(scanReplyWriter.plainText(response));
+        } catch (StationNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .contentType(ScanReplyWriter.TEXT_PLAIN_UTF8)
+                    .body(scanReplyWriter.unknownStation(stationId));
+        }
+    }
+
+    private static HttpStatus statusOf(ScanResponse response) {
+        return response.getOutcome() == ScanOutcome.NOT_FOUND ? HttpStatus.NOT_FOUND : HttpStatus.OK;
+    }
+
+    /**
+     * Plain text only when the scanner asks for it and not for JSON; browsers and Swagger keep getting JSON.
+     */
+    private static boolean wantsPlainText(String accept) {
+        return accept != null && accept.contains(MediaType.TEXT_PLAIN_VALUE) && !accept.contains("json");
+    }
+
+    @Operation(
+            summary = "Scan a batch of parcels",
+            description = "Replays reads buffered by a handheld scanner in one transaction. "
+                    + "Returns one result per read in request order, with its own outcome: SCANNED, "
+                    + "ALREADY_SCANNED (also for a parcel scanned concurrently by another device), "
+                    + "ALREADY_DELIVERED, MISROUTED, FAILED or NOT_FOUND. Unknown tracking numbers come back as "
+                    + "NOT_FOUND items and do not abort the batch; the response status stays 200."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Batch applied; check the outcome of every item",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            array = @ArraySchema(schema = @Schema(implementation = ScanResponse.class)))),
+            @ApiResponse(responseCode = "404", description = "A read names a station that has no routes assigned")
+    })
+    @PostMapping("/scan/batch")
+    public ResponseEntity<List<ScanResponse>> scanParcels(@RequestBody List<ScanRequest> requests) {
+        for (ScanRequest request : requests) {
+            if (request.getScannedBy() == null) request.setScannedBy(getCurrentScanner());
+            if (request.getSessionId() == null) request.setSessionId(getCurrentSessionId());
+        }
+        return ResponseEntity.ok(parcelService.scanParcels(requests));
+    }
+
+    @Operation(
+            summary = "Move parcels to LOADED, DELIVERED or RETURNED",
+            description = "Bulk lifecycle transition for a route, a zone of a route, or a list of tracking numbers, "
+                    + "applied as set-based UPDATEs guarded by the allowed source statuses "
+                    + "(SCANNED → LOADED → DELIVERED | RETURNED, RETURNED → SCANNED by scanning). "
+                    + "Parcels whose status does not allow the transition are left unchanged and audited as "
+                    + "INVALID_SCAN; parcels already in the target status, and DELIVERED parcels of a route or zone, "
+                    + "are skipped, so repeating a transition is safe."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Transition applied"),
+            @ApiResponse(responseCode = "400", description = "Unsupported target status or no parcels selected")
+    })
+    @PostMapping("/transitions")
+    public TransitionResult transitionParcels(@RequestBody TransitionRequest request) {
+        if (request.getChangedBy() == null) request.setChangedBy(getCurrentScanner());
+        if (request.getSessionId() == null) request.setSessionId(getCurrentSessionId());
+        return parcelLifecycleService.transition(request);
+    }
+
+    @Operation(summary = "Move a whole route (or one zone of it) to LOADED, DELIVERED or RETURNED")
+    @PostMapping("/routes/{routeNumber}/status/{status}")
+    public TransitionResult transitionRoute(
+            @Parameter(description = "Courier route", example = "225")
+            @PathVariable String routeNumber,
+            @Parameter(description = "Target status", example = "LOADED")
+            @PathVariable ParcelStatus status,
+            @Parameter(description = "Restrict the transition to one zone of the route", example = "83-02")
+            @RequestParam(value = "zoneCode", required = false) String zoneCode) {
+        return parcelLifecycleService.transition(new TransitionRequest(
+                status, routeNumber, zoneCode, null, getCurrentScanner(), getCurrentSessionId()));
     }
 
     // --- methods for automatic determination of scanner and session ---
@@ -89,6 +283,19 @@ public class ParcelController {
         return "SHIFT-" + LocalDate.now() + "-AUTO";
     }
 
+    @Operation(summary = "Get in-memory tracking-number index statistics",
+            description = "Returns the index size together with hit, miss and eviction counters")
+    @GetMapping("/index/stats")
+    public IndexStats getIndexStats() {
+        return parcelService.getIndexStats();
+    }
+
+    @Operation(summary = "Rebuild in-memory tracking-number index from the parcels table")
+    @PostMapping("/index/rebuild")
+    public IndexStats rebuildIndex() {
+        return parcelService.rebuildIndex();
+    }
+
     @Operation(summary = "Clear all parcels from database (for testing)")
     @DeleteMapping("/clear")
     public ResponseEntity<String> clearAll() {
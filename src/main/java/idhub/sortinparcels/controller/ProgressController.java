@@ -0,0 +1,35 @@
+package idhub.sortinparcels.controller;
+
+import idhub.sortinparcels.service.ProgressBroadcaster;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@Tag(name = "Progress", description = "Real-time scan progress for supervisor dashboards")
+@RestController
+@RequestMapping("/api/progress")
+@RequiredArgsConstructor
+public class ProgressController {
+
+    private final ProgressBroadcaster progressBroadcaster;
+
+    @Operation(summary = "Subscribe to scan progress (Server-Sent Events)",
+            description = "Sends the current route counters right away, then one coalesced 'progress' event "
+                    + "per flush interval with new scans and changed route counters. "
+                    + "Replaces polling of /api/parcels/pending and /api/parcels/scanned.")
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribe(
+            @Parameter(description = "Only scans of this scanning session")
+            @RequestParam(value = "sessionId", required = false) String sessionId,
+            @Parameter(description = "Only scans and counters of this route", example = "225")
+            @RequestParam(value = "routeNumber", required = false) String routeNumber) {
+        return progressBroadcaster.subscribe(sessionId, routeNumber);
+    }
+}
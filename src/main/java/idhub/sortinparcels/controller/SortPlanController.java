@@ -0,0 +1,64 @@
+package idhub.sortinparcels.controller;
+
+import idhub.sortinparcels.dto.RouteManifest;
+import idhub.sortinparcels.dto.RouteProgress;
+import idhub.sortinparcels.service.SortPlan;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@Tag(name = "Sort plan", description = "Route manifests and sorting progress served from memory")
+@RestController
+@RequestMapping("/api/sort-plan")
+@RequiredArgsConstructor
+public class SortPlanController {
+
+    private final SortPlan sortPlan;
+
+    @Operation(summary = "Get sorting progress of all routes",
+            description = "Total, pending and scanned parcel counts per route; no database query")
+    @GetMapping("/routes")
+    public List<RouteProgress> getProgress() {
+        return sortPlan.progress();
+    }
+
+    @Operation(summary = "Get sorting progress of one route")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Route progress"),
+            @ApiResponse(responseCode = "404", description = "Route is not part of the sort plan")
+    })
+    @GetMapping("/routes/{routeNumber}")
+    public RouteProgress getRouteProgress(
+            @Parameter(description = "Courier route number", example = "225")
+            @PathVariable String routeNumber) {
+        return sortPlan.progress(routeNumber);
+    }
+
+    @Operation(summary = "Get the manifest of one route",
+            description = "Tracking numbers of the route grouped by sorting zone")
+    @GetMapping("/routes/{routeNumber}/manifest")
+    public RouteManifest getRouteManifest(
+            @Parameter(description = "Courier route number", example = "225")
+            @PathVariable String routeNumber) {
+        return sortPlan.manifest(routeNumber);
+    }
+
+    @Operation(summary = "Get tracking numbers of one route in one zone")
+    @GetMapping("/routes/{routeNumber}/zones/{zoneCode}")
+    public List<String> getZoneTrackingNumbers(
+            @Parameter(description = "Courier route number", example = "225")
+            @PathVariable String routeNumber,
+            @Parameter(description = "Sorting zone code", example = "83-02")
+            @PathVariable String zoneCode) {
+        return sortPlan.trackingNumbers(routeNumber, zoneCode);
+    }
+}
@@ -0,0 +1,72 @@
+package idhub.sortinparcels.controller;
+
+import idhub.sortinparcels.dto.SortStation;
+import idhub.sortinparcels.dto.StationAssignment;
+import idhub.sortinparcels.service.SortStations;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@Tag(name = "Stations", description = "Routes and zones handled by each sort station (misroute check)")
+@RestController
+@RequestMapping("/api/stations")
+@RequiredArgsConstructor
+public class StationController {
+
+    private final SortStations sortStations;
+
+    @Operation(summary = "Get all sort stations with their routes and zones")
+    @GetMapping
+    public List<SortStation> getStations() {
+        return sortStations.getStations();
+    }
+
+    @Operation(summary = "Get the routes and zones of one sort station")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Station found"),
+            @ApiResponse(responseCode = "404", description = "Station has no routes assigned")
+    })
+    @GetMapping("/{stationId}")
+    public SortStation getStation(
+            @Parameter(description = "Sort station identifier", example = "ST-07")
+            @PathVariable String stationId) {
+        return sortStations.getStation(stationId);
+    }
+
+    @Operation(summary = "Replace the routes and zones of a sort station",
+            description = "Each assignment is a whole route, one zone of a route, or a zone on any route. "
+                    + "Applied to the in-memory misroute check once committed.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Assignments replaced"),
+            @ApiResponse(responseCode = "400", description = "Assignment without route and zone")
+    })
+    @PutMapping("/{stationId}")
+    public SortStation assign(
+            @Parameter(description = "Sort station identifier", example = "ST-07")
+            @PathVariable String stationId,
+            @RequestBody List<StationAssignment> assignments) {
+        return sortStations.assign(stationId, assignments);
+    }
+
+    @Operation(summary = "Remove a sort station")
+    @DeleteMapping("/{stationId}")
+    public ResponseEntity<String> remove(
+            @Parameter(description = "Sort station identifier", example = "ST-07")
+            @PathVariable String stationId) {
+        sortStations.assign(stationId, List.of());
+        return ResponseEntity.ok("Station " + stationId + " removed");
+    }
+}
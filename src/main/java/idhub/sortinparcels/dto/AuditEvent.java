@@ -1,8 +1,10 @@
 package idhub.sortinparcels.dto;
 
 import idhub.sortinparcels.enums.AuditEventType;
+import idhub.sortinparcels.enums.ParcelStatus;
 import idhub.sortinparcels.model.Parcel;
 import idhub.sortinparcels.model.ParcelAudit;
+import idhub.sortinparcels.model.ParcelAuditArchive;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -18,6 +20,10 @@ import java.time.Instant;
  * <br><br>
  * This object is NOT stored directly in the database.
  * Instead, it can be converted into {@link ParcelAudit} using {@link #toEntity()}.
+ * <p>
+ * On the write path {@code message} carries only the free-text detail of an event (the reason of an
+ * invalid scan) and is {@code null} for plain scans, so no sentence is built and stored per scan.
+ * Events read back through {@link #fromEntity} carry the rendered text, see {@link #renderMessage}.
  */
 @Data
 @NoArgsConstructor
@@ -52,9 +58,17 @@ public class AuditEvent {
      * @return DTO containing audit information.
      */
     public static AuditEvent successScan(Parcel parcel, String scannedBy, String sessionId) {
+        return successScan(parcel.getTrackingNumber(), scannedBy, sessionId);
+    }
+
+    /**
+     * Creates an audit object for a successful scan when only the tracking number is known
+     * (e.g. the parcel was resolved from the in-memory index).
+     */
+    public static AuditEvent successScan(String trackingNumber, String scannedBy, String sessionId) {
         return new AuditEvent(
-                "Parcel " + parcel.getTrackingNumber() + " scanned successfully.",
-                parcel.getTrackingNumber(),
+                null,
+                trackingNumber,
                 AuditEventType.SCANNED,
                 scannedBy,
                 Instant.now(),
@@ -70,9 +84,16 @@ public class AuditEvent {
      * @return DTO containing audit information and a warning message.
      */
     public static AuditEvent repeatedScan(Parcel parcel, String scannedBy, String sessionId) {
+        return repeatedScan(parcel.getTrackingNumber(), scannedBy, sessionId);
+    }
+
+    /**
+     * Creates an audit object for a repeated scan when only the tracking number is known.
+     */
+    public static AuditEvent repeatedScan(String trackingNumber, String scannedBy, String sessionId) {
         return new AuditEvent(
-                "Parcel " + parcel.getTrackingNumber() + " scanned successfully.",
-                parcel.getTrackingNumber(),
+                null,
+                trackingNumber,
                 AuditEventType.REPEATED_SCAN,
                 scannedBy,
                 Instant.now(),
@@ -89,15 +110,43 @@ public class AuditEvent {
      * @return DTO containing audit information and an error message.
      */
     public static AuditEvent invalidScan(Parcel parcel, String scannedBy, String sessionId, String reason) {
+        return invalidScan(parcel.getTrackingNumber(), scannedBy, sessionId, reason);
+    }
+
+    /**
+     * Creates an audit object for an invalid scan or status change when only the tracking number is known.
+     */
+    public static AuditEvent invalidScan(String trackingNumber, String scannedBy, String sessionId, String reason) {
         return new AuditEvent(
-                "Parcel " + parcel.getTrackingNumber() + " invalid scan: " + reason,
-                parcel.getTrackingNumber(),
+                reason,
+                trackingNumber,
                 AuditEventType.INVALID_SCAN,
                 scannedBy,
                 Instant.now(),
                 sessionId);
     }
 
+    /**
+     * Creates an audit object for a bulk lifecycle transition ({@code LOADED}, {@code DELIVERED} or {@code RETURNED}).
+     * Scans reach {@code SCANNED} through {@code markScanned} and are audited as scans.
+     */
+    public static AuditEvent statusChanged(String trackingNumber, ParcelStatus target,
+                                           String changedBy, String sessionId, Instant changedAt) {
+        return new AuditEvent(
+                null,
+                trackingNumber,
+                switch (target) {
+                    case LOADED -> AuditEventType.LOADED;
+                    case DELIVERED -> AuditEventType.DELIVERED;
+                    case RETURNED -> AuditEventType.RETURNED;
+                    case PENDING, SCANNED -> throw new IllegalArgumentException(
+                            "No bulk transition leads to " + target);
+                },
+                changedBy,
+                changedAt,
+                sessionId);
+    }
+
     /**
      * Converts this DTO into a persistent entity for database storage.
      * <p>
@@ -115,9 +164,38 @@ public class AuditEvent {
                 this.message);
     }
 
+    /**
+     * Readable text of an audit row, built when the row is read.
+     * Rows written before messages became structured keep their stored sentence.
+     *
+     * @param detail Stored free-text detail ({@code message} column), may be {@code null}.
+     */
+    public static String renderMessage(AuditEventType event, String trackingNumber, String detail) {
+        if (event == null) return detail;
+        return switch (event) {
+            case SCANNED -> detail != null ? detail : "Parcel " + trackingNumber + " scanned successfully.";
+            case REPEATED_SCAN -> detail != null ? detail : "Parcel " + trackingNumber + " was already scanned.";
+            case INVALID_SCAN -> "Parcel " + trackingNumber + " invalid scan: " + detail;
+            case LOADED -> "Parcel " + trackingNumber + " loaded.";
+            case DELIVERED -> "Parcel " + trackingNumber + " delivered.";
+            case RETURNED -> "Parcel " + trackingNumber + " returned to the hall.";
+        };
+    }
+
     public static AuditEvent fromEntity(ParcelAudit audit) {
         return new AuditEvent(
-                audit.getMessage(),          // message may be null
+                renderMessage(audit.getEvent(), audit.getTrackingNumber(), audit.getMessage()),
+                audit.getTrackingNumber(),
+                audit.getEvent(),
+                audit.getScannedBy(),
+                audit.getScannedAt(),
+                audit.getSessionId()
+        );
+    }
+
+    public static AuditEvent fromEntity(ParcelAuditArchive audit) {
+        return new AuditEvent(
+                renderMessage(audit.getEvent(), audit.getTrackingNumber(), audit.getMessage()),
                 audit.getTrackingNumber(),
                 audit.getEvent(),
                 audit.getScannedBy(),
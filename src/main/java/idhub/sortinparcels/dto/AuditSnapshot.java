@@ -0,0 +1,15 @@
+package idhub.sortinparcels.dto;
+
+import idhub.sortinparcels.enums.AuditEventType;
+
+import java.time.Instant;
+
+/**
+ * Lightweight read-only projection of the {@link idhub.sortinparcels.model.ParcelAudit} columns
+ * that session analytics aggregate; replayed on startup without loading managed entities.
+ */
+public record AuditSnapshot(String sessionId,
+                            String scannedBy,
+                            AuditEventType event,
+                            Instant scannedAt) {
+}
@@ -0,0 +1,38 @@
+package idhub.sortinparcels.dto;
+
+import idhub.sortinparcels.enums.AuditWriteMode;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Backpressure and throughput counters of the audit writer")
+public class AuditWriterStats {
+
+    @Schema(description = "Configured durability mode", example = "ASYNC")
+    private AuditWriteMode mode;
+
+    @Schema(description = "Events waiting in the queue", example = "42")
+    private int queueSize;
+
+    @Schema(description = "Maximum number of queued events", example = "10000")
+    private int queueCapacity;
+
+    @Schema(description = "Events accepted by the writer", example = "125000")
+    private long enqueued;
+
+    @Schema(description = "Events persisted to the database", example = "124958")
+    private long written;
+
+    @Schema(description = "Batch inserts executed by the background writer", example = "310")
+    private long batches;
+
+    @Schema(description = "Events written synchronously because the queue was full", example = "0")
+    private long syncFallbacks;
+
+    @Schema(description = "Events recovered from the write-ahead file on startup", example = "0")
+    private long replayed;
+}
@@ -0,0 +1,33 @@
+package idhub.sortinparcels.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of a keyset (cursor) paginated listing.
+ * <p>
+ * The next page is requested with {@code after=nextCursor}; unlike OFFSET paging
+ * the database seeks straight to the cursor via the primary key index,
+ * so deep pages cost the same as the first one.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Keyset-paginated page of results")
+public class CursorPage<T> {
+
+    @Schema(description = "Items of this page, ordered by id")
+    private List<T> items;
+
+    @Schema(description = "Cursor for the next page (id of the last item), null when there are no more items",
+            example = "1500")
+    private Long nextCursor;
+
+    public static <T> CursorPage<T> of(List<T> items, Long lastId, int limit) {
+        return new CursorPage<>(items, items.size() < limit ? null : lastId);
+    }
+}
@@ -0,0 +1,11 @@
+package idhub.sortinparcels.dto;
+
+/**
+ * Aggregated committed chunks of one import job.
+ *
+ * @param chunks   Committed chunks.
+ * @param rows     Parsed rows in those chunks.
+ * @param imported New parcels inserted by those chunks.
+ */
+public record ImportChunkTotals(long chunks, long rows, long imported) {
+}
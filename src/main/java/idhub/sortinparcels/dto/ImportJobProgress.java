@@ -0,0 +1,70 @@
+package idhub.sortinparcels.dto;
+
+import idhub.sortinparcels.enums.ImportJobStatus;
+import idhub.sortinparcels.enums.ManifestFormat;
+import idhub.sortinparcels.model.ImportJob;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "State and progress of an asynchronous manifest import")
+public class ImportJobProgress {
+
+    @Schema(description = "Job id", example = "3f1c2a9e-5b7d-4c1e-9a0f-2d6b8e4f7a10")
+    private String jobId;
+
+    @Schema(description = "Original file name", example = "manifest-2025-03-05.xlsx")
+    private String fileName;
+
+    @Schema(description = "Manifest format", example = "CSV")
+    private ManifestFormat format;
+
+    @Schema(description = "Job state", example = "RUNNING")
+    private ImportJobStatus status;
+
+    @Schema(description = "Rows per chunk", example = "1000")
+    private int chunkSize;
+
+    @Schema(description = "Rows in the file; null until the whole file has been read", example = "300000")
+    private Integer parsedRows;
+
+    @Schema(description = "Chunks committed so far", example = "120")
+    private long committedChunks;
+
+    @Schema(description = "Rows in committed chunks", example = "120000")
+    private long committedRows;
+
+    @Schema(description = "New parcels inserted by committed chunks (duplicates excluded)", example = "119870")
+    private long importedParcels;
+
+    @Schema(description = "Failure reason of the last run")
+    private String error;
+
+    @Schema(description = "Upload time (UTC)")
+    private Instant createdAt;
+
+    @Schema(description = "Completion or failure time of the last run (UTC)")
+    private Instant finishedAt;
+
+    public static ImportJobProgress of(ImportJob job, ImportChunkTotals totals) {
+        return new ImportJobProgress(
+                job.getId(),
+                job.getFileName(),
+                job.getFormat(),
+                job.getStatus(),
+                job.getChunkSize(),
+                job.getParsedRows(),
+                totals.chunks(),
+                totals.rows(),
+                totals.imported(),
+                job.getError(),
+                job.getCreatedAt(),
+                job.getFinishedAt());
+    }
+}
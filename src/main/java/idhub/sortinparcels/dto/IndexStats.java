@@ -0,0 +1,32 @@
+package idhub.sortinparcels.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Usage counters of the in-memory tracking-number index")
+public class IndexStats {
+
+    @Schema(description = "Number of parcels currently held in the index", example = "256000")
+    private long size;
+
+    @Schema(description = "Lookups answered from memory", example = "125000")
+    private long hits;
+
+    @Schema(description = "Lookups that had to fall back to the database", example = "12")
+    private long misses;
+
+    @Schema(description = "Entries removed from the index (clear or invalidation)", example = "0")
+    private long evictions;
+
+    @Schema(description = "Entries whose tracking number cannot be packed into longs and is kept as a string",
+            example = "0")
+    private long uncompressed;
+
+    @Schema(description = "Approximate heap held by the packed table and its row columns", example = "14680064")
+    private long footprintBytes;
+}
@@ -0,0 +1,20 @@
+package idhub.sortinparcels.dto;
+
+import idhub.sortinparcels.enums.ParcelStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Parcel left unchanged because its status does not allow the requested transition")
+public class InvalidTransition {
+
+    @Schema(description = "Tracking number of the parcel", example = "JD0146000065427282")
+    private String trackingNumber;
+
+    @Schema(description = "Current status of the parcel", example = "PENDING")
+    private ParcelStatus status;
+}
@@ -0,0 +1,21 @@
+package idhub.sortinparcels.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Audit events recorded within one minute")
+public class MinuteThroughput {
+
+    @Schema(description = "Start of the minute", example = "2025-03-20T06:01:00Z")
+    private Instant minute;
+
+    @Schema(description = "Events in this minute", example = "38")
+    private long scans;
+}
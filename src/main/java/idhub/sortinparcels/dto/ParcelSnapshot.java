@@ -0,0 +1,19 @@
+package idhub.sortinparcels.dto;
+
+import idhub.sortinparcels.enums.ParcelStatus;
+
+import java.time.Instant;
+
+/**
+ * Lightweight read-only projection of a {@link idhub.sortinparcels.model.Parcel} row.
+ * <p>
+ * Used to warm in-memory structures from the {@code parcels} table
+ * without loading full managed entities.
+ */
+public record ParcelSnapshot(String trackingNumber,
+                             String zoneCode,
+                             String routeNumber,
+                             ParcelStatus status,
+                             Instant scannedAt,
+                             String scannedBy) {
+}
@@ -0,0 +1,24 @@
+package idhub.sortinparcels.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Coalesced batch of changes pushed to one subscriber per flush interval")
+public class ProgressDelta {
+
+    @Schema(description = "Scans since the previous delta, oldest first")
+    private List<ScanNotification> scans;
+
+    @Schema(description = "Scans left out of this delta because the burst exceeded the per-delta limit", example = "0")
+    private long skippedScans;
+
+    @Schema(description = "Latest counters of every route that changed since the previous delta")
+    private List<RouteProgress> routes;
+}
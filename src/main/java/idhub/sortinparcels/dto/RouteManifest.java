@@ -0,0 +1,22 @@
+package idhub.sortinparcels.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Tracking numbers of one courier route grouped by sorting zone")
+public class RouteManifest {
+
+    @Schema(description = "Courier route number", example = "225")
+    private String routeNumber;
+
+    @Schema(description = "Zone code → sorted tracking numbers of the route in that zone")
+    private Map<String, List<String>> zones;
+}
@@ -0,0 +1,28 @@
+package idhub.sortinparcels.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Sorting progress of one courier route")
+public class RouteProgress {
+
+    @Schema(description = "Courier route number", example = "225")
+    private String routeNumber;
+
+    @Schema(description = "Number of zones the route's parcels are spread over", example = "4")
+    private int zones;
+
+    @Schema(description = "Parcels assigned to the route", example = "180")
+    private long total;
+
+    @Schema(description = "Parcels awaiting sorting (pending or returned)", example = "35")
+    private long pending;
+
+    @Schema(description = "Parcels already sorted (scanned, loaded or delivered)", example = "145")
+    private long scanned;
+}
@@ -0,0 +1,44 @@
+package idhub.sortinparcels.dto;
+
+import idhub.sortinparcels.enums.AuditEventType;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Compact scan delta pushed to dashboards")
+public class ScanNotification {
+
+    @Schema(description = "Tracking number of the scanned parcel", example = "JD0146000065427282")
+    private String trackingNumber;
+
+    @Schema(description = "Courier route of the parcel", example = "225")
+    private String routeNumber;
+
+    @Schema(description = "Scan outcome", example = "SCANNED")
+    private AuditEventType event;
+
+    @Schema(description = "User or device that scanned the parcel", example = "scanner01")
+    private String scannedBy;
+
+    @Schema(description = "Scanning session of the read", example = "SHIFT-2025-03-05-A")
+    private String sessionId;
+
+    @Schema(description = "Time of the read (UTC)")
+    private Instant scannedAt;
+
+    public static ScanNotification of(AuditEvent event, String routeNumber) {
+        return new ScanNotification(
+                event.getTrackingNumber(),
+                routeNumber,
+                event.getEvent(),
+                event.getScannedBy(),
+                event.getSessionId(),
+                event.getScannedAt());
+    }
+}
@@ -0,0 +1,33 @@
+package idhub.sortinparcels.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Single barcode read buffered by a handheld scanner and replayed in a batch upload.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Single scan inside a batch upload")
+public class ScanRequest {
+
+    @Schema(description = "Tracking number of the scanned parcel", example = "JD0146000065427282")
+    private String trackingNumber;
+
+    @Schema(description = "Time the barcode was read on the device (UTC); defaults to server time")
+    private Instant scannedAt;
+
+    @Schema(description = "User or device that scanned the parcel", example = "scanner01")
+    private String scannedBy;
+
+    @Schema(description = "Scanning session the read belongs to", example = "SHIFT-2025-03-05-A")
+    private String sessionId;
+
+    @Schema(description = "Sort station of the read; enables the misroute check", example = "ST-07")
+    private String stationId;
+}
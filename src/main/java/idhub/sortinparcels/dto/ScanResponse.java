@@ -1,5 +1,7 @@
 package idhub.sortinparcels.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import idhub.sortinparcels.enums.ScanOutcome;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -25,30 +27,54 @@ public class ScanResponse {
     @Schema(description = "User identifier (username or device ID) who scanned the parcel")
     private String scannedBy;
 
+    /**
+     * Machine-readable result, used by the plain-text scanner reply; the JSON reply keeps {@code message}.
+     */
+    @JsonIgnore
+    @Schema(hidden = true)
+    private ScanOutcome outcome;
+
     /**
      * Response when parcel scanned successfully.
      */
     public static ScanResponse success(String routeNumber) {
-        return new ScanResponse("Parcel scanned successfully", routeNumber, null, null);
+        return new ScanResponse("Parcel scanned successfully", routeNumber, null, null, ScanOutcome.SCANNED);
     }
     /**
      * Response when parcel already scanned previously.
      */
     public static ScanResponse alreadyScanned(Instant scannedAt, String scannedBy, String routeNumber) {
-        return new ScanResponse("Parcel already scanned", routeNumber, scannedAt, scannedBy);
+        return new ScanResponse("Parcel already scanned", routeNumber, scannedAt, scannedBy,
+                ScanOutcome.ALREADY_SCANNED);
     }
     /**
      * Response when scanning failed.
      */
     public static ScanResponse failure(String reason) {
-        return new ScanResponse("Scan failed: " + reason, null, null, null  );
+        return new ScanResponse("Scan failed: " + reason, null, null, null, ScanOutcome.FAILED);
+    }
+
+    /**
+     * Response when the parcel is scanned at a station that does not handle its route;
+     * carries the parcel's route so the operator can redirect it.
+     */
+    public static ScanResponse misrouted(String routeNumber, String reason) {
+        return new ScanResponse("Parcel " + reason, routeNumber, null, null, ScanOutcome.MISROUTED);
+    }
+
+    /**
+     * Response for a tracking number that does not exist, returned without an exception.
+     */
+    public static ScanResponse notFound(String trackingNumber) {
+        return new ScanResponse("Parcel with tracking number '" + trackingNumber + "' not found",
+                null, null, null, ScanOutcome.NOT_FOUND);
     }
 
     /**
      * Response when parcel was already delivered.
      */
     public static ScanResponse alreadyDelivered() {
-        return new ScanResponse("Parcel already delivered", null, null, null);
+        return new ScanResponse("Parcel already delivered", null, null, null, ScanOutcome.ALREADY_DELIVERED);
     }
 
 
@@ -0,0 +1,38 @@
+package idhub.sortinparcels.dto;
+
+import idhub.sortinparcels.enums.AuditEventType;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Scan activity of one scanner or employee within a session")
+public class ScannerSummary {
+
+    @Schema(description = "User or device that scanned", example = "scanner01")
+    private String scannedBy;
+
+    @Schema(description = "All audit events of this scanner", example = "812")
+    private long total;
+
+    @Schema(description = "Audit events by type", example = "{\"SCANNED\": 790, \"REPEATED_SCAN\": 22, \"INVALID_SCAN\": 0}")
+    private Map<AuditEventType, Long> events;
+
+    @Schema(description = "Share of repeated scans among all events", example = "0.027")
+    private double repeatRate;
+
+    @Schema(description = "First scan", example = "2025-03-20T06:00:12Z")
+    private Instant firstScanAt;
+
+    @Schema(description = "Last scan", example = "2025-03-20T13:58:40Z")
+    private Instant lastScanAt;
+
+    @Schema(description = "Average events per minute between the first and the last scan", example = "1.7")
+    private double scansPerMinute;
+}
@@ -0,0 +1,48 @@
+package idhub.sortinparcels.dto;
+
+import idhub.sortinparcels.enums.AuditEventType;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Aggregated scan activity of one session (shift)")
+public class SessionSummary {
+
+    @Schema(description = "Session identifier", example = "SHIFT-2025-03-20-A")
+    private String sessionId;
+
+    @Schema(description = "All audit events of the session", example = "5120")
+    private long total;
+
+    @Schema(description = "Audit events by type", example = "{\"SCANNED\": 4980, \"REPEATED_SCAN\": 140, \"INVALID_SCAN\": 0}")
+    private Map<AuditEventType, Long> events;
+
+    @Schema(description = "Share of repeated scans among all events", example = "0.027")
+    private double repeatRate;
+
+    @Schema(description = "First scan", example = "2025-03-20T06:00:03Z")
+    private Instant firstScanAt;
+
+    @Schema(description = "Last scan", example = "2025-03-20T13:59:58Z")
+    private Instant lastScanAt;
+
+    @Schema(description = "Average events per minute between the first and the last scan", example = "10.7")
+    private double scansPerMinute;
+
+    @Schema(description = "Busiest minute of the session")
+    private MinuteThroughput peakMinute;
+
+    @Schema(description = "Per-scanner breakdown, busiest first")
+    private List<ScannerSummary> scanners;
+
+    @Schema(description = "Events per minute, in time order (omitted in session lists)")
+    private List<MinuteThroughput> minutes;
+}
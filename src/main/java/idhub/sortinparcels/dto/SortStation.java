@@ -0,0 +1,21 @@
+package idhub.sortinparcels.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Sort station with the routes and zones it handles")
+public class SortStation {
+
+    @Schema(description = "Station identifier reported by the scanner", example = "ST-07")
+    private String stationId;
+
+    @Schema(description = "Routes and zones accepted at the station")
+    private List<StationAssignment> assignments;
+}
@@ -0,0 +1,19 @@
+package idhub.sortinparcels.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Route and/or zone handled by a sort station; at least one of the two is required")
+public class StationAssignment {
+
+    @Schema(description = "Courier route; omit to accept the zone on any route", example = "225")
+    private String routeNumber;
+
+    @Schema(description = "Zone of the route; omit to accept the whole route", example = "83-02")
+    private String zoneCode;
+}
@@ -0,0 +1,35 @@
+package idhub.sortinparcels.dto;
+
+import idhub.sortinparcels.enums.ParcelStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Bulk lifecycle transition: a whole route, one zone of a route, or a list of parcels")
+public class TransitionRequest {
+
+    @Schema(description = "Status to move the parcels to", example = "LOADED",
+            allowableValues = {"LOADED", "DELIVERED", "RETURNED"})
+    private ParcelStatus targetStatus;
+
+    @Schema(description = "Courier route to move (ignored when trackingNumbers is given)", example = "225")
+    private String routeNumber;
+
+    @Schema(description = "Optional zone within the route", example = "83-02")
+    private String zoneCode;
+
+    @Schema(description = "Parcels to move instead of a route", example = "[\"JD0146000065427282\"]")
+    private List<String> trackingNumbers;
+
+    @Schema(description = "User or device performing the transition (defaults to the server scanner)", example = "loader07")
+    private String changedBy;
+
+    @Schema(description = "Session of the transition (defaults to the current shift)", example = "SHIFT-2025-03-20-A")
+    private String sessionId;
+}
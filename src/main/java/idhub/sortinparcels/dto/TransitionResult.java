@@ -0,0 +1,28 @@
+package idhub.sortinparcels.dto;
+
+import idhub.sortinparcels.enums.ParcelStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Outcome of a bulk lifecycle transition")
+public class TransitionResult {
+
+    @Schema(description = "Requested status", example = "LOADED")
+    private ParcelStatus targetStatus;
+
+    @Schema(description = "Parcels moved to the requested status", example = "176")
+    private long transitioned;
+
+    @Schema(description = "Parcels whose status does not allow the transition; each got an INVALID_SCAN audit")
+    private List<InvalidTransition> invalid;
+
+    @Schema(description = "Requested tracking numbers that do not exist")
+    private List<String> notFound;
+}
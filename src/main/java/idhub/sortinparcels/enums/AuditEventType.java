@@ -4,4 +4,7 @@ public enum AuditEventType {
     SCANNED,
     REPEATED_SCAN,
     INVALID_SCAN,
+    LOADED,
+    DELIVERED,
+    RETURNED,
 }
@@ -0,0 +1,13 @@
+package idhub.sortinparcels.enums;
+
+/**
+ * Durability level of audit persistence ({@code parcel.audit.mode}).
+ */
+public enum AuditWriteMode {
+    /** Audit row is inserted in the same transaction as the scan. */
+    SYNC,
+    /** Audit events are queued in memory and inserted in batches by a background writer. */
+    ASYNC,
+    /** Like {@link #ASYNC}, but every event is first appended to a write-ahead file replayed on startup. */
+    ASYNC_WAL
+}
@@ -0,0 +1,8 @@
+package idhub.sortinparcels.enums;
+
+public enum ImportJobStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
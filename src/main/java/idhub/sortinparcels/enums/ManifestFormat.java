@@ -0,0 +1,16 @@
+package idhub.sortinparcels.enums;
+
+public enum ManifestFormat {
+    /**
+     * .xlsx / .xls workbook, first sheet, header row.
+     */
+    EXCEL,
+    /**
+     * Comma- or semicolon-separated text, UTF-8, header row.
+     */
+    CSV,
+    /**
+     * Length-prefixed binary records (see {@code BinaryManifestReader}).
+     */
+    BINARY
+}
@@ -1,5 +1,71 @@
 package idhub.sortinparcels.enums;
 
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Parcel lifecycle in the hall.
+ *
+ * <pre>
+ * PENDING ──scan──▶ SCANNED ──▶ LOADED ──▶ DELIVERED
+ *                     ▲           │
+ *                     └── scan ── RETURNED ◀┘
+ * </pre>
+ *
+ * Every other transition is invalid and is recorded as {@code INVALID_SCAN}.
+ * A parcel awaits sorting only while {@code PENDING} or {@code RETURNED}; the sorting state therefore
+ * changes only on transitions into {@code SCANNED} (sorted) and into {@code RETURNED} (back to sorting).
+ */
 public enum ParcelStatus {
-    PENDING, SCANNED
+    PENDING,
+    SCANNED,
+    LOADED,
+    DELIVERED,
+    RETURNED;
+
+    private static final Map<ParcelStatus, Set<ParcelStatus>> TRANSITIONS = new EnumMap<>(ParcelStatus.class);
+    private static final Map<ParcelStatus, Set<ParcelStatus>> SOURCES = new EnumMap<>(ParcelStatus.class);
+
+    static {
+        TRANSITIONS.put(PENDING, EnumSet.of(SCANNED));
+        TRANSITIONS.put(SCANNED, EnumSet.of(LOADED));
+        TRANSITIONS.put(LOADED, EnumSet.of(DELIVERED, RETURNED));
+        TRANSITIONS.put(DELIVERED, EnumSet.noneOf(ParcelStatus.class));
+        TRANSITIONS.put(RETURNED, EnumSet.of(SCANNED));
+
+        for (ParcelStatus target : values()) {
+            SOURCES.put(target, EnumSet.noneOf(ParcelStatus.class));
+        }
+        TRANSITIONS.forEach((source, targets) -> targets.forEach(target -> SOURCES.get(target).add(source)));
+        TRANSITIONS.replaceAll((status, targets) -> Collections.unmodifiableSet(targets));
+        SOURCES.replaceAll((status, sources) -> Collections.unmodifiableSet(sources));
+    }
+
+    public boolean canTransitionTo(ParcelStatus target) {
+        return TRANSITIONS.get(this).contains(target);
+    }
+
+    /**
+     * Statuses from which a parcel may move to {@code target}.
+     */
+    public static Set<ParcelStatus> sourcesOf(ParcelStatus target) {
+        return SOURCES.get(target);
+    }
+
+    /**
+     * Whether no transition leads out of this status ({@code DELIVERED}).
+     */
+    public boolean isTerminal() {
+        return TRANSITIONS.get(this).isEmpty();
+    }
+
+    /**
+     * Whether the parcel still has to go through the sorting hall.
+     */
+    public boolean awaitsSorting() {
+        return this == PENDING || this == RETURNED;
+    }
 }
@@ -0,0 +1,13 @@
+package idhub.sortinparcels.enums;
+
+/**
+ * Result of one scan as reported to the scanner.
+ */
+public enum ScanOutcome {
+    SCANNED,
+    ALREADY_SCANNED,
+    ALREADY_DELIVERED,
+    MISROUTED,
+    FAILED,
+    NOT_FOUND,
+}
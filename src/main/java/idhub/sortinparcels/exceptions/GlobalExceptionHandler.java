@@ -2,6 +2,7 @@ package idhub.sortinparcels.exceptions;
 
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -21,6 +22,70 @@ public class GlobalExceptionHandler {
         ));
     }
 
+    @ExceptionHandler(RouteNotFoundException.class)
+    public ResponseEntity<Map<String, Object>> handleRouteNotFound(RouteNotFoundException ex) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of(
+                "timestamp", LocalDateTime.now(),
+                "error", "Route not found",
+                "message", ex.getMessage()
+        ));
+    }
+
+    @ExceptionHandler(StationNotFoundException.class)
+    public ResponseEntity<Map<String, Object>> handleStationNotFound(StationNotFoundException ex) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of(
+                "timestamp", LocalDateTime.now(),
+                "error", "Station not found",
+                "message", ex.getMessage()
+        ));
+    }
+
+    @ExceptionHandler(SessionNotFoundException.class)
+    public ResponseEntity<Map<String, Object>> handleSessionNotFound(SessionNotFoundException ex) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of(
+                "timestamp", LocalDateTime.now(),
+                "error", "Session not found",
+                "message", ex.getMessage()
+        ));
+    }
+
+    @ExceptionHandler(InvalidTransitionRequestException.class)
+    public ResponseEntity<Map<String, Object>> handleInvalidTransitionRequest(InvalidTransitionRequestException ex) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of(
+                "timestamp", LocalDateTime.now(),
+                "error", "Invalid transition request",
+                "message", ex.getMessage()
+        ));
+    }
+
+    @ExceptionHandler(InvalidStationAssignmentException.class)
+    public ResponseEntity<Map<String, Object>> handleInvalidStationAssignment(InvalidStationAssignmentException ex) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of(
+                "timestamp", LocalDateTime.now(),
+                "error", "Invalid station assignment",
+                "message", ex.getMessage()
+        ));
+    }
+
+    @ExceptionHandler(ImportJobNotFoundException.class)
+    public ResponseEntity<Map<String, Object>> handleImportJobNotFound(ImportJobNotFoundException ex) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of(
+                "timestamp", LocalDateTime.now(),
+                "error", "Import job not found",
+                "message", ex.getMessage()
+        ));
+    }
+
+    // Паралельна зміна тієї ж посилки через версіоновану сутність — клієнт може повторити запит
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<Map<String, Object>> handleConcurrentUpdate(ObjectOptimisticLockingFailureException ex) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of(
+                "timestamp", LocalDateTime.now(),
+                "error", "Concurrent update",
+                "message", "Parcel was modified by a concurrent scan, retry the request"
+        ));
+    }
+
     //  Додатковий обробник для Excel / IO помилок
     @ExceptionHandler(Exception.class)
     public ResponseEntity<Map<String, Object>> handleAllExceptions(Exception ex) {
@@ -0,0 +1,7 @@
+package idhub.sortinparcels.exceptions;
+
+public class ImportJobNotFoundException extends RuntimeException {
+    public ImportJobNotFoundException(String jobId) {
+        super("Import job '" + jobId + "' not found");
+    }
+}
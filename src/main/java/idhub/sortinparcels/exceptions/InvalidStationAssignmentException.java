@@ -0,0 +1,7 @@
+package idhub.sortinparcels.exceptions;
+
+public class InvalidStationAssignmentException extends RuntimeException {
+    public InvalidStationAssignmentException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package idhub.sortinparcels.exceptions;
+
+public class InvalidTransitionRequestException extends RuntimeException {
+    public InvalidTransitionRequestException(String message) {
+        super(message);
+    }
+}
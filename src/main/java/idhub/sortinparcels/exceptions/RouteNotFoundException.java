@@ -0,0 +1,7 @@
+package idhub.sortinparcels.exceptions;
+
+public class RouteNotFoundException extends RuntimeException {
+    public RouteNotFoundException(String routeNumber) {
+        super("Route '" + routeNumber + "' is not part of the current sort plan");
+    }
+}
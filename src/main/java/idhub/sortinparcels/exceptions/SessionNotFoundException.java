@@ -0,0 +1,7 @@
+package idhub.sortinparcels.exceptions;
+
+public class SessionNotFoundException extends RuntimeException {
+    public SessionNotFoundException(String sessionId) {
+        super("No scans recorded for session '" + sessionId + "'");
+    }
+}
@@ -0,0 +1,7 @@
+package idhub.sortinparcels.exceptions;
+
+public class StationNotFoundException extends RuntimeException {
+    public StationNotFoundException(String stationId) {
+        super("Sort station '" + stationId + "' has no routes assigned");
+    }
+}
@@ -0,0 +1,31 @@
+package idhub.sortinparcels.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Single-row progress marker of the audit write-ahead file.
+ * <p>
+ * Advanced in the same transaction as the audit rows of a batch, so every event with a sequence
+ * up to {@link #persistedSeq} is in {@code parcel_audit} and a replay skips it.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "audit_wal_checkpoint")
+public class AuditWalCheckpoint {
+
+    public static final int ID = 1;
+
+    @Id
+    private int id;
+
+    @Column(nullable = false, name = "persisted_seq")
+    private long persistedSeq;
+}
@@ -0,0 +1,106 @@
+package idhub.sortinparcels.model;
+
+import idhub.sortinparcels.enums.ImportJobStatus;
+import idhub.sortinparcels.enums.ManifestFormat;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Asynchronous manifest import.
+ * <p>
+ * The uploaded file is kept on disk until the job completes, so a failed or interrupted job
+ * can be resumed: chunks already committed are listed in {@link ImportJobChunk} and skipped.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@Table(name = "import_jobs")
+public class ImportJob {
+
+    /**
+     * Job id returned to the client right after upload.
+     */
+    @Id
+    @Column(length = 36)
+    private String id;
+
+    /**
+     * Original name of the uploaded file.
+     */
+    @Column(name = "file_name")
+    private String fileName;
+
+    /**
+     * Stored copy of the upload the job reads from.
+     */
+    @Column(nullable = false, name = "file_path", length = 500)
+    private String filePath;
+
+    /**
+     * Format of the stored file; decides the manifest reader.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private ManifestFormat format = ManifestFormat.EXCEL;
+
+    /**
+     * Rows per chunk; fixed per job so chunk boundaries stay the same across resumes.
+     */
+    @Column(nullable = false, name = "chunk_size")
+    private int chunkSize;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private ImportJobStatus status = ImportJobStatus.QUEUED;
+
+    /**
+     * Rows in the file after skip rules; known once the whole file has been read.
+     */
+    @Column(name = "parsed_rows")
+    private Integer parsedRows;
+
+    /**
+     * Failure reason of the last run.
+     */
+    @Column(length = 1000)
+    private String error;
+
+    @Column(updatable = false, name = "created_at")
+    private Instant createdAt;
+
+    @Column(name = "updated_at")
+    private Instant updatedAt;
+
+    @Column(name = "finished_at")
+    private Instant finishedAt;
+
+    public ImportJob(String fileName, String filePath, ManifestFormat format, int chunkSize) {
+        this.id = UUID.randomUUID().toString();
+        this.fileName = fileName;
+        this.filePath = filePath;
+        this.format = format;
+        this.chunkSize = chunkSize;
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        this.createdAt = Instant.now();
+        this.updatedAt = Instant.now();
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        this.updatedAt = Instant.now();
+    }
+}
@@ -0,0 +1,62 @@
+package idhub.sortinparcels.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * Marker of one committed chunk of an {@link ImportJob}.
+ * <p>
+ * Inserted in the same transaction as the chunk's parcels, so it exists if and only if
+ * the chunk's data is committed — that is what makes a resume exact.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@IdClass(ImportJobChunk.Key.class)
+@Table(name = "import_job_chunks")
+public class ImportJobChunk {
+
+    @Id
+    @Column(name = "job_id", length = 36)
+    private String jobId;
+
+    /**
+     * Zero-based position of the chunk in the file.
+     */
+    @Id
+    @Column(name = "chunk_index")
+    private int chunkIndex;
+
+    /**
+     * Parsed rows in the chunk.
+     */
+    @Column(nullable = false, name = "row_count")
+    private int rows;
+
+    /**
+     * New parcels inserted by the chunk (rows minus duplicates).
+     */
+    @Column(nullable = false, name = "imported_count")
+    private int imported;
+
+    @Column(nullable = false, name = "committed_at")
+    private Instant committedAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private String jobId;
+        private int chunkIndex;
+    }
+}
@@ -12,7 +12,14 @@ import java.util.UUID;
 
 
 @Entity
-@Table(name = "parcel_audit")
+@Table(name = "parcel_audit",
+        // Mirrors db.changelog-4.0: session / parcel history lookups ordered by scan time
+        indexes = {@Index(name = "idx_parcel_audit_session_scanned_at", columnList = "session_id, scanned_at"),
+                @Index(name = "idx_parcel_audit_tracking_scanned_at", columnList = "tracking_number, scanned_at"),
+                // db.changelog-5.0: selects rows leaving the retention window
+                @Index(name = "idx_parcel_audit_scanned_at", columnList = "scanned_at")
+        }
+)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -22,8 +29,10 @@ import java.util.UUID;
  */
 public class ParcelAudit {
 
+    // Sequence-based like Parcel#id, so audit rows can be inserted in JDBC batches
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "parcel_audit_seq")
+    @SequenceGenerator(name = "parcel_audit_seq", sequenceName = "parcel_audit_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -42,7 +51,11 @@ public class ParcelAudit {
     @Column(nullable = false)
     private String sessionId;
 
-    @Column(nullable = false)
+    /**
+     * Only the free-text part of an event (the reason of an {@code INVALID_SCAN}); {@code null} for plain scans.
+     * The readable sentence is rendered on read, see {@link idhub.sortinparcels.dto.AuditEvent#renderMessage}.
+     */
+    @Column(length = 1000)
     private String message;
 
     public ParcelAudit(String trackingNumber, AuditEventType event, String scannedBy, Instant scannedAt, String sessionId, String message) {
@@ -0,0 +1,47 @@
+package idhub.sortinparcels.model;
+
+import idhub.sortinparcels.enums.AuditEventType;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Cold copy of {@link ParcelAudit} rows that left the hot retention window.
+ * <p>
+ * Rows are moved here in bulk by {@link idhub.sortinparcels.service.AuditArchiveService}
+ * and keep their original id. Never written by the scan path.
+ */
+@Entity
+@Table(name = "parcel_audit_archive",
+        indexes = {@Index(name = "idx_parcel_audit_archive_session_scanned_at", columnList = "session_id, scanned_at"),
+                @Index(name = "idx_parcel_audit_archive_tracking_scanned_at", columnList = "tracking_number, scanned_at")
+        }
+)
+@Data
+@NoArgsConstructor
+public class ParcelAuditArchive {
+
+    @Id
+    private Long id;
+
+    @Column(nullable = false)
+    private String trackingNumber;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private AuditEventType event;
+
+    @Column(nullable = false)
+    private String scannedBy;
+
+    @Column(nullable = false)
+    private Instant scannedAt;
+
+    @Column(nullable = false)
+    private String sessionId;
+
+    @Column(length = 1000)
+    private String message;
+}
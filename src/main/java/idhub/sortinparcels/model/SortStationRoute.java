@@ -0,0 +1,53 @@
+package idhub.sortinparcels.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One assignment of a sort station: a whole route, one zone of a route, or a zone on any route.
+ * <p>
+ * A parcel scanned at a station must match at least one assignment of that station, otherwise it is misrouted.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@Table(name = "sort_station_routes",
+        indexes = @Index(name = "idx_sort_station_routes_station", columnList = "station_id"))
+public class SortStationRoute {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * Sort station (chute, belt position or handheld group) the scanner reports.
+     * <p><b>Example:</b> {@code ST-07}
+     */
+    @Column(nullable = false, name = "station_id", length = 50)
+    private String stationId;
+
+    /**
+     * Courier route handled by the station; {@code null} when the assignment is a zone on any route.
+     */
+    @Column(name = "route_number", length = 50)
+    private String routeNumber;
+
+    /**
+     * Zone handled by the station; {@code null} when the whole route is handled.
+     */
+    @Column(name = "zone_code", length = 50)
+    private String zoneCode;
+
+    public SortStationRoute(String stationId, String routeNumber, String zoneCode) {
+        this.stationId = stationId;
+        this.routeNumber = routeNumber;
+        this.zoneCode = zoneCode;
+    }
+}
@@ -0,0 +1,18 @@
+package idhub.sortinparcels.repository;
+
+import idhub.sortinparcels.model.AuditWalCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface AuditWalCheckpointRepository extends JpaRepository<AuditWalCheckpoint, Integer> {
+
+    /**
+     * Moves the checkpoint forward; never backwards
+     */
+    @Modifying
+    @Query("UPDATE AuditWalCheckpoint c SET c.persistedSeq = :seq " +
+            "WHERE c.id = " + AuditWalCheckpoint.ID + " AND c.persistedSeq < :seq")
+    int advance(@Param("seq") long seq);
+}
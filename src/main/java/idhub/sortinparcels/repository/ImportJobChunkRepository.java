@@ -0,0 +1,30 @@
+package idhub.sortinparcels.repository;
+
+import idhub.sortinparcels.dto.ImportChunkTotals;
+import idhub.sortinparcels.model.ImportJobChunk;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Set;
+
+public interface ImportJobChunkRepository extends JpaRepository<ImportJobChunk, ImportJobChunk.Key> {
+
+    /**
+     * Chunks of a job that are already committed and must be skipped on resume.
+     */
+    @Query("SELECT c.chunkIndex FROM ImportJobChunk c WHERE c.jobId = :jobId")
+    Set<Integer> findCommittedChunkIndexes(@Param("jobId") String jobId);
+
+    /**
+     * Job progress computed from chunk markers; workers never contend on a shared counter row.
+     */
+    @Query("SELECT new idhub.sortinparcels.dto.ImportChunkTotals(COUNT(c), COALESCE(SUM(c.rows), 0), " +
+            "COALESCE(SUM(c.imported), 0)) FROM ImportJobChunk c WHERE c.jobId = :jobId")
+    ImportChunkTotals sumByJobId(@Param("jobId") String jobId);
+
+    @Modifying
+    @Query("DELETE FROM ImportJobChunk c WHERE c.jobId = :jobId")
+    int deleteByJobId(@Param("jobId") String jobId);
+}
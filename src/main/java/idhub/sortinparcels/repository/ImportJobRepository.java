@@ -0,0 +1,18 @@
+package idhub.sortinparcels.repository;
+
+import idhub.sortinparcels.enums.ImportJobStatus;
+import idhub.sortinparcels.model.ImportJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface ImportJobRepository extends JpaRepository<ImportJob, String> {
+
+    /**
+     * Jobs in the given states, e.g. runs interrupted by a restart.
+     */
+    List<ImportJob> findByStatusIn(Collection<ImportJobStatus> statuses);
+
+    List<ImportJob> findAllByOrderByCreatedAtDesc();
+}
@@ -0,0 +1,50 @@
+package idhub.sortinparcels.repository;
+
+import idhub.sortinparcels.model.ParcelAuditArchive;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface ParcelAuditArchiveRepository extends JpaRepository<ParcelAuditArchive, Long> {
+    /**
+     * Archived history of a parcel in scan order
+     */
+    List<ParcelAuditArchive> findByTrackingNumberOrderByScannedAtAsc(String trackingNumber);
+
+    /**
+     * Archived events of a scanning session in scan order
+     */
+    List<ParcelAuditArchive> findBySessionIdOrderByScannedAtAsc(String sessionId);
+
+    /**
+     * Upper id of the next archive chunk: the highest id among the oldest {@code limit} rows
+     * older than {@code cutoff}, or null if nothing is left to archive.
+     */
+    @Query(value = "SELECT MAX(id) FROM (SELECT id FROM parcel_audit WHERE scanned_at < :cutoff " +
+            "ORDER BY id LIMIT :limit) chunk", nativeQuery = true)
+    Long findChunkUpperId(@Param("cutoff") Instant cutoff, @Param("limit") int limit);
+
+    /**
+     * Copy one chunk of expired rows into the archive with a single INSERT ... SELECT.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO parcel_audit_archive " +
+            "(id, tracking_number, event, scanned_by, scanned_at, session_id, message) " +
+            "SELECT id, tracking_number, event, scanned_by, scanned_at, session_id, message " +
+            "FROM parcel_audit WHERE scanned_at < :cutoff AND id <= :upperId", nativeQuery = true)
+    int copyChunk(@Param("cutoff") Instant cutoff, @Param("upperId") long upperId);
+
+    /**
+     * Remove the chunk copied by {@link #copyChunk(Instant, long)} from the hot table.
+     * Only rows that are present in the archive are deleted, so a row inserted between
+     * the copy and the delete is never lost.
+     */
+    @Modifying
+    @Query(value = "DELETE FROM parcel_audit a WHERE a.id <= :upperId " +
+            "AND EXISTS (SELECT 1 FROM parcel_audit_archive x WHERE x.id = a.id)", nativeQuery = true)
+    int deleteArchivedChunk(@Param("upperId") long upperId);
+}
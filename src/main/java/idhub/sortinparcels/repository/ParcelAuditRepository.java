@@ -1,13 +1,49 @@
 package idhub.sortinparcels.repository;
 
+import idhub.sortinparcels.dto.AuditSnapshot;
 import idhub.sortinparcels.enums.AuditEventType;
 import idhub.sortinparcels.model.ParcelAudit;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface ParcelAuditRepository extends JpaRepository<ParcelAudit, Long> {
+    /**
+     * Keyset page over the whole audit log
+     */
+    List<ParcelAudit> findByIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
+
+    /**
+     * Whole audit log streamed off the JDBC cursor; consume inside a transaction
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT a FROM ParcelAudit a ORDER BY a.id")
+    Stream<ParcelAudit> streamAll();
+
+    /**
+     * Highest audit id committed so far; bounds a replay that runs while new events keep arriving
+     */
+    @Query("SELECT COALESCE(MAX(a.id), 0) FROM ParcelAudit a")
+    long findMaxId();
+
+    /**
+     * Session-analytics columns of events scanned since {@code from} with ids up to {@code maxId},
+     * streamed off the JDBC cursor; the range is served by idx_parcel_audit_scanned_at. Consume inside a transaction
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new idhub.sortinparcels.dto.AuditSnapshot(a.sessionId, a.scannedBy, a.event, a.scannedAt) " +
+            "FROM ParcelAudit a WHERE a.scannedAt >= :from AND a.id <= :maxId")
+    Stream<AuditSnapshot> streamSnapshotsScannedSince(@Param("from") Instant from, @Param("maxId") long maxId);
+
     /**
      * Latest audit event for a parcel (most recent scan)
      */
@@ -23,11 +59,21 @@ public interface ParcelAuditRepository extends JpaRepository<ParcelAudit, Long>
      */
     List<ParcelAudit> findByTrackingNumber(String trackingNumber);
 
+    /**
+     * Parcel history in scan order; served by idx_parcel_audit_tracking_scanned_at without a sort
+     */
+    List<ParcelAudit> findByTrackingNumberOrderByScannedAtAsc(String trackingNumber);
+
     /**
      * All audit events for a specific scanning session
      */
     List<ParcelAudit> findBySessionId(String sessionId);
 
+    /**
+     * Session events in scan order; served by idx_parcel_audit_session_scanned_at without a sort
+     */
+    List<ParcelAudit> findBySessionIdOrderByScannedAtAsc(String sessionId);
+
     /**
      * Filter events by type for a specific parcel
      */
@@ -1,12 +1,23 @@
 package idhub.sortinparcels.repository;
 
+import idhub.sortinparcels.dto.ParcelSnapshot;
 import idhub.sortinparcels.model.Parcel;
 import idhub.sortinparcels.enums.ParcelStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 /**
  * Provides CRUD operations and domain queries for working with packages
@@ -21,16 +32,181 @@ public interface ParcelRepository extends JpaRepository<Parcel, Long> {
     Optional<Parcel> findByTrackingNumber(String trackingNumber);
 
     /**
-     * Get parcels filtered by sorting status (PENDING, SCANNED, DELIVERED).
+     * Resolve a batch of tracking numbers with a single query.
+     * SELECT * FROM parcels WHERE tracking_number IN (?, ?, ...)
+     */
+    List<Parcel> findByTrackingNumberIn(Collection<String> trackingNumbers);
+
+    /**
+     * Get parcels filtered by lifecycle status (PENDING, SCANNED, LOADED, DELIVERED, RETURNED).
      */
     List<Parcel> findByStatus(ParcelStatus status);
 
     /**
-     * Get only tracking numbers without loading full Parcel entity.
-     * Used for fast duplicate validation on Excel import.
+     * SELECT COUNT(*) FROM parcels WHERE status = ?
+     */
+    long countByStatus(ParcelStatus status);
+
+    /**
+     * Keyset page of parcels with the given status.
+     * SELECT * FROM parcels WHERE status = ? AND id > ? ORDER BY id LIMIT ?
+     */
+    List<Parcel> findByStatusAndIdGreaterThanOrderByIdAsc(ParcelStatus status, Long afterId, Limit limit);
+
+    /**
+     * Stream parcels with the given status straight off the JDBC cursor.
+     * Must be consumed inside a transaction and closed afterwards.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT p FROM Parcel p WHERE p.status = :status ORDER BY p.id")
+    Stream<Parcel> streamByStatus(@Param("status") ParcelStatus status);
+
+    /**
+     * Get which of the given tracking numbers already exist, without loading full Parcel entities.
+     * Used for duplicate validation on Excel import: resolved through the unique tracking_number index,
+     * so the cost depends on the size of the batch, not on the size of the table.
+     * SELECT tracking_number FROM parcels WHERE tracking_number IN (?, ?, ...)
      */
+    @Query("SELECT p.trackingNumber FROM Parcel p WHERE p.trackingNumber IN :trackingNumbers")
+    Set<String> findExistingTrackingNumbers(@Param("trackingNumbers") Collection<String> trackingNumbers);
+
+    /**
+     * Stream all tracking numbers; used to rebuild the tracking-number Bloom filter.
+     * Must be consumed inside a transaction and closed afterwards.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
     @Query("SELECT p.trackingNumber FROM Parcel p")
-    List<String> findAllTrackingNumbers();
+    Stream<String> streamAllTrackingNumbers();
+
+    /**
+     * Stream compact snapshots of all parcels.
+     * Used to warm the in-memory tracking-number index; must be consumed inside a transaction.
+     */
+    @Query("SELECT new idhub.sortinparcels.dto.ParcelSnapshot(" +
+            "p.trackingNumber, p.zoneCode, p.routeNumber, p.status, p.scannedAt, p.scannedBy) FROM Parcel p")
+    Stream<ParcelSnapshot> streamAllSnapshots();
+
+    /**
+     * Read the scan-relevant state of one parcel without loading the entity.
+     * The result is never served from the persistence context, so it always reflects the committed row.
+     */
+    @Query("SELECT new idhub.sortinparcels.dto.ParcelSnapshot(" +
+            "p.trackingNumber, p.zoneCode, p.routeNumber, p.status, p.scannedAt, p.scannedBy) " +
+            "FROM Parcel p WHERE p.trackingNumber = :trackingNumber")
+    Optional<ParcelSnapshot> findSnapshotByTrackingNumber(@Param("trackingNumber") String trackingNumber);
+
+    /**
+     * Atomically claim a parcel awaiting sorting as scanned with a single conditional UPDATE.
+     * The row lock taken by the UPDATE serialises concurrent scans of the same parcel:
+     * exactly one caller gets 1, every later caller gets 0 once the winner commits.
+     * Bumps the optimistic-lock version the same way an entity update would.
+     * UPDATE parcels SET status = 'SCANNED', ... WHERE tracking_number = ? AND status IN ('PENDING', 'RETURNED')
+     *
+     * @param sources {@code ParcelStatus.sourcesOf(SCANNED)}
+     * @return number of updated rows (0 if the parcel is unknown or not in one of {@code sources})
+     */
+    @Modifying
+    @Query("UPDATE Parcel p SET p.status = idhub.sortinparcels.enums.ParcelStatus.SCANNED, " +
+            "p.scannedAt = :scannedAt, p.scannedBy = :scannedBy, p.updatedAt = :scannedAt, " +
+            "p.version = p.version + 1 " +
+            "WHERE p.trackingNumber = :trackingNumber AND p.status IN :sources")
+    int markScanned(@Param("trackingNumber") String trackingNumber,
+                    @Param("sources") Collection<ParcelStatus> sources,
+                    @Param("scannedAt") Instant scannedAt,
+                    @Param("scannedBy") String scannedBy);
+
+    /**
+     * Set-based {@link #markScanned} for the reads of a batch that share {@code scannedAt} and {@code scannedBy}
+     * (at most one {@code IN (...)} batch). The row locks serialise concurrent scans exactly like the single-row
+     * variant; {@code changedAt} is written to {@code updatedAt} so that {@link #findChangedByTrackingNumberIn}
+     * returns the parcels this transaction claimed.
+     *
+     * @return number of parcels claimed
+     */
+    @Modifying
+    @Query("UPDATE Parcel p SET p.status = idhub.sortinparcels.enums.ParcelStatus.SCANNED, " +
+            "p.scannedAt = :scannedAt, p.scannedBy = :scannedBy, p.updatedAt = :changedAt, " +
+            "p.version = p.version + 1 " +
+            "WHERE p.trackingNumber IN :trackingNumbers AND p.status IN :sources")
+    int markScannedIn(@Param("trackingNumbers") Collection<String> trackingNumbers,
+                      @Param("sources") Collection<ParcelStatus> sources,
+                      @Param("scannedAt") Instant scannedAt,
+                      @Param("scannedBy") String scannedBy,
+                      @Param("changedAt") Instant changedAt);
+
+    /**
+     * Set-based lifecycle transition of a whole route, or of one zone of it when {@code zoneCode} is given.
+     * UPDATE parcels SET status = ?, updated_at = ? WHERE route_number = ? [AND zone_code = ?] AND status IN (...)
+     *
+     * @param changedAt Written to {@code updatedAt}; identifies the changed rows for {@link #findChangedInRoute}.
+     * @return number of parcels moved
+     */
+    @Modifying
+    @Query("UPDATE Parcel p SET p.status = :target, p.updatedAt = :changedAt, p.version = p.version + 1 " +
+            "WHERE p.routeNumber = :routeNumber AND (:zoneCode IS NULL OR p.zoneCode = :zoneCode) " +
+            "AND p.status IN :sources")
+    int transitionRoute(@Param("routeNumber") String routeNumber,
+                        @Param("zoneCode") String zoneCode,
+                        @Param("sources") Collection<ParcelStatus> sources,
+                        @Param("target") ParcelStatus target,
+                        @Param("changedAt") Instant changedAt);
+
+    /**
+     * Parcels moved by {@link #transitionRoute} in the current transaction: the UPDATE holds their row locks,
+     * so only it can have written {@code target} together with {@code changedAt}.
+     */
+    @Query("SELECT new idhub.sortinparcels.dto.ParcelSnapshot(" +
+            "p.trackingNumber, p.zoneCode, p.routeNumber, p.status, p.scannedAt, p.scannedBy) FROM Parcel p " +
+            "WHERE p.routeNumber = :routeNumber AND (:zoneCode IS NULL OR p.zoneCode = :zoneCode) " +
+            "AND p.status = :target AND p.updatedAt = :changedAt")
+    List<ParcelSnapshot> findChangedInRoute(@Param("routeNumber") String routeNumber,
+                                            @Param("zoneCode") String zoneCode,
+                                            @Param("target") ParcelStatus target,
+                                            @Param("changedAt") Instant changedAt);
+
+    /**
+     * Parcels of a route (or zone) that can be neither moved nor left as they are: not in {@code excluded},
+     * which holds the allowed sources, the target itself and the terminal statuses.
+     */
+    @Query("SELECT new idhub.sortinparcels.dto.ParcelSnapshot(" +
+            "p.trackingNumber, p.zoneCode, p.routeNumber, p.status, p.scannedAt, p.scannedBy) FROM Parcel p " +
+            "WHERE p.routeNumber = :routeNumber AND (:zoneCode IS NULL OR p.zoneCode = :zoneCode) " +
+            "AND p.status NOT IN :excluded")
+    List<ParcelSnapshot> findInRouteWithStatusNotIn(@Param("routeNumber") String routeNumber,
+                                                    @Param("zoneCode") String zoneCode,
+                                                    @Param("excluded") Collection<ParcelStatus> excluded);
+
+    /**
+     * Set-based lifecycle transition of a list of parcels (at most one {@code IN (...)} batch).
+     *
+     * @return number of parcels moved
+     */
+    @Modifying
+    @Query("UPDATE Parcel p SET p.status = :target, p.updatedAt = :changedAt, p.version = p.version + 1 " +
+            "WHERE p.trackingNumber IN :trackingNumbers AND p.status IN :sources")
+    int transitionTrackingNumbers(@Param("trackingNumbers") Collection<String> trackingNumbers,
+                                  @Param("sources") Collection<ParcelStatus> sources,
+                                  @Param("target") ParcelStatus target,
+                                  @Param("changedAt") Instant changedAt);
+
+    /**
+     * Parcels of the list moved by {@link #transitionTrackingNumbers} or {@link #markScannedIn} in the current transaction
+     * (see {@link #findChangedInRoute}).
+     */
+    @Query("SELECT new idhub.sortinparcels.dto.ParcelSnapshot(" +
+            "p.trackingNumber, p.zoneCode, p.routeNumber, p.status, p.scannedAt, p.scannedBy) FROM Parcel p " +
+            "WHERE p.trackingNumber IN :trackingNumbers AND p.status = :target AND p.updatedAt = :changedAt")
+    List<ParcelSnapshot> findChangedByTrackingNumberIn(@Param("trackingNumbers") Collection<String> trackingNumbers,
+                                                       @Param("target") ParcelStatus target,
+                                                       @Param("changedAt") Instant changedAt);
+
+    /**
+     * Current state of the given parcels without loading entities.
+     */
+    @Query("SELECT new idhub.sortinparcels.dto.ParcelSnapshot(" +
+            "p.trackingNumber, p.zoneCode, p.routeNumber, p.status, p.scannedAt, p.scannedBy) FROM Parcel p " +
+            "WHERE p.trackingNumber IN :trackingNumbers")
+    List<ParcelSnapshot> findSnapshotsByTrackingNumberIn(@Param("trackingNumbers") Collection<String> trackingNumbers);
 
     /**
      * Get all parcels assigned to a specific courier route (tour).
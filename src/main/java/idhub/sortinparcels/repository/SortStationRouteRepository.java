@@ -0,0 +1,18 @@
+package idhub.sortinparcels.repository;
+
+import idhub.sortinparcels.model.SortStationRoute;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface SortStationRouteRepository extends JpaRepository<SortStationRoute, Long> {
+
+    List<SortStationRoute> findByStationId(String stationId);
+
+    @Modifying
+    @Query("DELETE FROM SortStationRoute s WHERE s.stationId = :stationId")
+    int deleteByStationId(@Param("stationId") String stationId);
+}
@@ -0,0 +1,94 @@
+package idhub.sortinparcels.service;
+
+import idhub.sortinparcels.model.ParcelAuditArchive;
+import idhub.sortinparcels.repository.ParcelAuditArchiveRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Retention for {@code parcel_audit}.
+ *
+ * <p>The hot table only keeps events of the current window ({@code parcel.audit.archive.hot-window-hours},
+ * one day by default). Older rows are periodically moved to {@code parcel_audit_archive}
+ * in chunks, each chunk being one {@code INSERT ... SELECT} plus one {@code DELETE} in its own transaction.
+ * Scan-time inserts and the queries in {@link AuditService} therefore work on a small table,
+ * while archived events stay queryable on demand.
+ */
+@Slf4j
+@Service
+public class AuditArchiveService {
+
+    private final ParcelAuditArchiveRepository archiveRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ParcelCaches parcelCaches;
+
+    private final boolean enabled;
+    private final Duration hotWindow;
+    private final int chunkSize;
+
+    public AuditArchiveService(ParcelAuditArchiveRepository archiveRepository,
+                               TransactionTemplate transactionTemplate,
+                               ParcelCaches parcelCaches,
+                               @Value("${parcel.audit.archive.enabled:true}") boolean enabled,
+                               @Value("${parcel.audit.archive.hot-window-hours:24}") long hotWindowHours,
+                               @Value("${parcel.audit.archive.chunk-size:10000}") int chunkSize) {
+        this.archiveRepository = archiveRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.parcelCaches = parcelCaches;
+        this.enabled = enabled;
+        this.hotWindow = Duration.ofHours(hotWindowHours);
+        this.chunkSize = chunkSize;
+    }
+
+    @Scheduled(cron = "${parcel.audit.archive.cron:0 5 * * * *}")
+    public void archiveOnSchedule() {
+        if (enabled) {
+            archiveExpired();
+        }
+    }
+
+    /**
+     * Moves all audit rows older than the hot window into the archive table.
+     *
+     * @return number of archived rows
+     */
+    public long archiveExpired() {
+        Instant cutoff = Instant.now().minus(hotWindow);
+        long archived = 0;
+        while (true) {
+            Integer moved = transactionTemplate.execute(status -> {
+                Long upperId = archiveRepository.findChunkUpperId(cutoff, chunkSize);
+                if (upperId == null) return 0;
+                archiveRepository.copyChunk(cutoff, upperId);
+                return archiveRepository.deleteArchivedChunk(upperId);
+            });
+            if (moved == null || moved == 0) break;
+            archived += moved;
+        }
+        if (archived > 0) {
+            // Cached histories may still list rows that left the hot table
+            parcelCaches.clearAudit();
+            log.info("Archived {} audit events older than {}", archived, cutoff);
+        }
+        return archived;
+    }
+
+    public List<ParcelAuditArchive> getArchivedEventsBySession(String sessionId) {
+        return archiveRepository.findBySessionIdOrderByScannedAtAsc(sessionId);
+    }
+
+    public List<ParcelAuditArchive> getArchivedEventsByTrackingNumber(String trackingNumber) {
+        return archiveRepository.findByTrackingNumberOrderByScannedAtAsc(trackingNumber);
+    }
+
+    public void deleteAll() {
+        archiveRepository.deleteAllInBatch();
+    }
+}
@@ -1,28 +1,66 @@
 package idhub.sortinparcels.service;
 
 
+import idhub.sortinparcels.dto.AuditWriterStats;
+import idhub.sortinparcels.dto.CursorPage;
 import idhub.sortinparcels.model.ParcelAudit;
 import idhub.sortinparcels.repository.ParcelAuditRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class AuditService {
 
     private final ParcelAuditRepository repository;
+    private final AuditWriter auditWriter;
+    private final EntityManager entityManager;
 
-    public List<ParcelAudit> getAllEvents() {
-        return repository.findAll();
+    /**
+     * Keyset page over the audit log, ordered by id.
+     */
+    public CursorPage<ParcelAudit> getEvents(long afterId, int limit) {
+        int pageSize = Math.min(Math.max(limit, 1), ParcelService.MAX_PAGE_SIZE);
+        List<ParcelAudit> events = repository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(pageSize));
+        Long lastId = events.isEmpty() ? null : events.get(events.size() - 1).getId();
+        return CursorPage.of(events, lastId, pageSize);
+    }
+
+    /**
+     * Pushes the whole audit log to {@code sink} row by row straight off the JDBC cursor.
+     */
+    @Transactional
+    public void streamAllEvents(Consumer<ParcelAudit> sink) {
+        try (Stream<ParcelAudit> events = repository.streamAll()) {
+            events.forEach(event -> {
+                sink.accept(event);
+                entityManager.detach(event);
+            });
+        }
     }
 
     public List<ParcelAudit> getEventsBySession(String sessionId) {
-        return repository.findBySessionId(sessionId);
+        return repository.findBySessionIdOrderByScannedAtAsc(sessionId);
     }
 
+    /**
+     * Hot audit history of one parcel, cached per tracking number;
+     * {@link AuditWriter} evicts the entry once a new event for the parcel is in the database.
+     */
+    @Cacheable(cacheNames = ParcelCaches.AUDIT_BY_TRACKING_NUMBER, key = "#trackingNumber")
     public List<ParcelAudit> getEventsByTrackingNumber(String trackingNumber) {
-        return repository.findByTrackingNumber(trackingNumber);
+        return repository.findByTrackingNumberOrderByScannedAtAsc(trackingNumber);
+    }
+
+    public AuditWriterStats getWriterStats() {
+        return auditWriter.stats();
     }
 }
\ No newline at end of file
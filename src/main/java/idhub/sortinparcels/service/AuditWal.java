@@ -0,0 +1,212 @@
+package idhub.sortinparcels.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import idhub.sortinparcels.dto.AuditEvent;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Segmented write-ahead file of the {@code ASYNC_WAL} audit mode.
+ *
+ * <p>Every event gets a sequence number and is appended as a {@code <seq> <json>} line to the current
+ * segment {@code <wal-file>.<first seq>}; a new segment starts once the current one exceeds
+ * {@code segmentBytes}. The caller stores the highest persisted sequence with each audit batch
+ * ({@code audit_wal_checkpoint}), then {@link #release(long)} deletes segments that hold nothing newer.
+ * The files therefore stay bounded under steady load, and {@link #replay} skips every event
+ * that already reached the database.
+ *
+ * <p>Not thread-safe: {@link AuditWriter} serialises all calls under its WAL lock.
+ */
+@Slf4j
+final class AuditWal implements Closeable {
+
+    /**
+     * An event with its write-ahead sequence; {@code seq} is 0 for events that were never logged.
+     */
+    record Entry(long seq, AuditEvent event) {
+    }
+
+    private record Segment(Path path, long lastSeq) {
+    }
+
+    private final Path basePath;
+    private final long segmentBytes;
+    private final ObjectMapper objectMapper;
+
+    private final ArrayDeque<Segment> closedSegments = new ArrayDeque<>();
+    private FileChannel channel;
+    private Path currentPath;
+    private long currentLastSeq;
+    private long nextSeq = 1;
+
+    AuditWal(Path basePath, long segmentBytes, ObjectMapper objectMapper) {
+        this.basePath = basePath;
+        this.segmentBytes = segmentBytes;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Hands every logged event newer than {@code checkpoint} to {@code sink} in batches, in sequence order,
+     * then deletes the replayed segments and opens a fresh one.
+     *
+     * @return number of replayed events
+     */
+    long replay(long checkpoint, int batchSize, Consumer<List<Entry>> sink) throws IOException {
+        long maxSeq = checkpoint;
+        long count = 0;
+        List<Path> segments = segments();
+        List<Entry> pending = new ArrayList<>(batchSize);
+        for (Path segment : segments) {
+            try (BufferedReader reader = Files.newBufferedReader(segment, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.isBlank()) continue;
+                    Entry entry = parse(segment, line);
+                    if (entry == null) continue;
+                    maxSeq = Math.max(maxSeq, entry.seq());
+                    if (entry.seq() <= checkpoint) continue;
+                    pending.add(entry);
+                    if (pending.size() >= batchSize) {
+                        sink.accept(List.copyOf(pending));
+                        count += pending.size();
+                        pending.clear();
+                    }
+                }
+            }
+        }
+        if (!pending.isEmpty()) {
+            sink.accept(List.copyOf(pending));
+            count += pending.size();
+        }
+        for (Path segment : segments) {
+            Files.delete(segment);
+        }
+        nextSeq = maxSeq + 1;
+        openSegment();
+        return count;
+    }
+
+    /**
+     * Appends the events to the current segment and forces them to disk with a single {@code fsync}.
+     *
+     * @return the events with their assigned sequence numbers
+     */
+    List<Entry> append(List<AuditEvent> events) {
+        try {
+            if (channel.size() >= segmentBytes) {
+                rotate();
+            }
+            StringBuilder lines = new StringBuilder(events.size() * 256);
+            List<Entry> entries = new ArrayList<>(events.size());
+            for (AuditEvent event : events) {
+                long seq = nextSeq++;
+                lines.append(seq).append(' ').append(objectMapper.writeValueAsString(event)).append('\n');
+                entries.add(new Entry(seq, event));
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+            currentLastSeq = nextSeq - 1;
+            return entries;
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to append audit events to write-ahead file", e);
+        }
+    }
+
+    /**
+     * Deletes closed segments whose events are all persisted up to {@code persistedSeq}.
+     */
+    void release(long persistedSeq) {
+        while (!closedSegments.isEmpty() && closedSegments.peekFirst().lastSeq() <= persistedSeq) {
+            Segment segment = closedSegments.pollFirst();
+            try {
+                Files.deleteIfExists(segment.path());
+            } catch (IOException e) {
+                log.warn("Failed to delete audit write-ahead segment {}", segment.path(), e);
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+        }
+    }
+
+    private void rotate() throws IOException {
+        channel.close();
+        closedSegments.addLast(new Segment(currentPath, currentLastSeq));
+        openSegment();
+    }
+
+    private void openSegment() throws IOException {
+        if (basePath.toAbsolutePath().getParent() != null) {
+            Files.createDirectories(basePath.toAbsolutePath().getParent());
+        }
+        currentPath = segmentPath(nextSeq);
+        currentLastSeq = nextSeq - 1;
+        channel = FileChannel.open(currentPath,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    private Path segmentPath(long firstSeq) {
+        return basePath.resolveSibling(basePath.getFileName() + "." + firstSeq);
+    }
+
+    /**
+     * Existing segments ordered by their first sequence.
+     */
+    private List<Path> segments() throws IOException {
+        Path dir = basePath.toAbsolutePath().getParent();
+        if (dir == null || !Files.isDirectory(dir)) return List.of();
+        String prefix = basePath.getFileName() + ".";
+        try (Stream<Path> files = Files.list(dir)) {
+            return files
+                    .filter(file -> firstSeqOf(file, prefix) > 0)
+                    .sorted(Comparator.comparingLong(file -> firstSeqOf(file, prefix)))
+                    .toList();
+        }
+    }
+
+    private static long firstSeqOf(Path file, String prefix) {
+        String name = file.getFileName().toString();
+        if (!name.startsWith(prefix)) return -1;
+        try {
+            return Long.parseLong(name.substring(prefix.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * A line torn by a crash mid-append is skipped; it was never acknowledged to the queue.
+     */
+    private Entry parse(Path segment, String line) {
+        try {
+            int space = line.indexOf(' ');
+            long seq = Long.parseLong(line, 0, space, 10);
+            return new Entry(seq, objectMapper.readValue(line.substring(space + 1), AuditEvent.class));
+        } catch (IOException | RuntimeException e) {
+            log.warn("Skipping unreadable line in audit write-ahead segment {}", segment, e);
+            return null;
+        }
+    }
+}
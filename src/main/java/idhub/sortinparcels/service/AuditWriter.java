@@ -0,0 +1,317 @@
+package idhub.sortinparcels.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import idhub.sortinparcels.dto.AuditEvent;
+import idhub.sortinparcels.dto.AuditWriterStats;
+import idhub.sortinparcels.enums.AuditWriteMode;
+import idhub.sortinparcels.model.AuditWalCheckpoint;
+import idhub.sortinparcels.model.ParcelAudit;
+import idhub.sortinparcels.repository.AuditWalCheckpointRepository;
+import idhub.sortinparcels.repository.ParcelAuditRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static idhub.sortinparcels.utils.TransactionUtil.afterCommit;
+
+/**
+ * Audit pipeline between {@link ParcelService} and {@code parcel_audit}.
+ *
+ * <p>Behaviour depends on {@code parcel.audit.mode} (see {@link AuditWriteMode}):
+ * <ul>
+ *     <li>{@code SYNC} — the event is inserted in the caller's transaction (previous behaviour).</li>
+ *     <li>{@code ASYNC} — after the scan commits, the event goes to a bounded queue; a background
+ *         writer inserts queued events in batches of {@code batch-size} or every {@code flush-interval-ms}.</li>
+ *     <li>{@code ASYNC_WAL} — as {@code ASYNC}, but events are appended to a write-ahead file and forced
+ *         to disk before they are queued (see {@link AuditWal}). Each batch advances {@code audit_wal_checkpoint}
+ *         in its own transaction, so fully persisted segments are deleted and a replay on startup inserts
+ *         only events that never reached the database.</li>
+ * </ul>
+ *
+ * <p>Backpressure: when the queue is full the event is written synchronously by the caller,
+ * so audit data is never dropped; such writes are counted as {@code syncFallbacks}.
+ * On shutdown the queue is drained before the persistence layer goes away.
+ */
+@Slf4j
+@Component
+public class AuditWriter {
+
+    private final ParcelAuditRepository auditRepository;
+    private final AuditWalCheckpointRepository checkpointRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final ScanMetrics scanMetrics;
+    private final ParcelCaches parcelCaches;
+    private final SessionAnalytics sessionAnalytics;
+
+    private final AuditWriteMode mode;
+    private final int queueCapacity;
+    private final int batchSize;
+    private final long flushIntervalMs;
+    private final long offerTimeoutMs;
+    private final long drainTimeoutMs;
+    private final Path walPath;
+    private final long walSegmentBytes;
+    private final boolean virtualThreads;
+
+    private final BlockingQueue<AuditWal.Entry> queue;
+    // Not a monitor: appends do file I/O and must not pin carrier threads in virtual-thread mode
+    private final ReentrantLock walLock = new ReentrantLock();
+    private AuditWal wal;
+
+    private Thread worker;
+    private volatile boolean running;
+
+    private final LongAdder enqueued = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder syncFallbacks = new LongAdder();
+    private final LongAdder replayed = new LongAdder();
+
+    public AuditWriter(ParcelAuditRepository auditRepository,
+                       AuditWalCheckpointRepository checkpointRepository,
+                       PlatformTransactionManager transactionManager,
+                       ObjectMapper objectMapper,
+                       ScanMetrics scanMetrics,
+                       ParcelCaches parcelCaches,
+                       SessionAnalytics sessionAnalytics,
+                       @Value("${parcel.audit.mode:SYNC}") AuditWriteMode mode,
+                       @Value("${parcel.audit.queue-capacity:10000}") int queueCapacity,
+                       @Value("${parcel.audit.batch-size:500}") int batchSize,
+                       @Value("${parcel.audit.flush-interval-ms:200}") long flushIntervalMs,
+                       @Value("${parcel.audit.offer-timeout-ms:50}") long offerTimeoutMs,
+                       @Value("${parcel.audit.drain-timeout-ms:30000}") long drainTimeoutMs,
+                       @Value("${parcel.audit.wal-file:./data/audit.wal}") Path walPath,
+                       @Value("${parcel.audit.wal-segment-bytes:16777216}") long walSegmentBytes,
+                       @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.auditRepository = auditRepository;
+        this.checkpointRepository = checkpointRepository;
+        // persist() also runs inside afterCommit callbacks (queue-full fallback), where a REQUIRED
+        // template would only join the already committed transaction and never flush the insert
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.objectMapper = objectMapper;
+        this.scanMetrics = scanMetrics;
+        this.parcelCaches = parcelCaches;
+        this.sessionAnalytics = sessionAnalytics;
+        this.mode = mode;
+        this.queueCapacity = queueCapacity;
+        this.batchSize = batchSize;
+        this.flushIntervalMs = flushIntervalMs;
+        this.offerTimeoutMs = offerTimeoutMs;
+        this.drainTimeoutMs = drainTimeoutMs;
+        this.walPath = walPath;
+        this.walSegmentBytes = walSegmentBytes;
+        this.virtualThreads = virtualThreads;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    @PostConstruct
+    void start() throws IOException {
+        if (mode == AuditWriteMode.SYNC) return;
+
+        if (mode == AuditWriteMode.ASYNC_WAL) {
+            replayWal();
+        }
+
+        running = true;
+        // The worker mostly waits on the queue and JDBC, so it follows the application's thread mode
+        Thread.Builder threads = virtualThreads ? Thread.ofVirtual() : Thread.ofPlatform();
+        worker = threads.name("audit-writer").start(this::runWorker);
+        log.info("Audit writer started in {} mode (capacity={}, batchSize={})", mode, queueCapacity, batchSize);
+    }
+
+    /**
+     * Hands an audit event to the pipeline.
+     * In async modes the event is queued only after the current transaction commits.
+     * {@link SessionAnalytics} sees the event once its row is committed: after the scan in {@code SYNC} mode,
+     * after the batch insert of the worker otherwise.
+     */
+    public void write(AuditEvent event) {
+        scanMetrics.countEvent(event.getEvent());
+        if (mode == AuditWriteMode.SYNC) {
+            ParcelAudit audit = auditRepository.save(event.toEntity());
+            written.increment();
+            afterCommit(() -> {
+                sessionAnalytics.record(List.of(audit));
+                parcelCaches.evictAudit(event.getTrackingNumber());
+            });
+            return;
+        }
+        afterCommit(() -> enqueue(List.of(event)));
+    }
+
+    /**
+     * Hands a batch of audit events to the pipeline; in {@code SYNC} mode they are inserted as one JDBC batch.
+     */
+    public void writeAll(List<AuditEvent> events) {
+        if (events.isEmpty()) return;
+        events.forEach(event -> scanMetrics.countEvent(event.getEvent()));
+        if (mode == AuditWriteMode.SYNC) {
+            List<ParcelAudit> audits = auditRepository.saveAll(events.stream().map(AuditEvent::toEntity).toList());
+            written.add(events.size());
+            afterCommit(() -> {
+                sessionAnalytics.record(audits);
+                events.forEach(event -> parcelCaches.evictAudit(event.getTrackingNumber()));
+            });
+            return;
+        }
+        afterCommit(() -> enqueue(events));
+    }
+
+    private void enqueue(List<AuditEvent> events) {
+        enqueued.add(events.size());
+        List<AuditEvent> rejected;
+        if (mode == AuditWriteMode.ASYNC_WAL) {
+            walLock.lock();
+            try {
+                // One append and one fsync for everything that fits into the queue
+                int admitted = Math.min(queue.remainingCapacity(), events.size());
+                if (admitted > 0) {
+                    queue.addAll(wal.append(events.subList(0, admitted)));
+                }
+                rejected = events.subList(admitted, events.size());
+            } finally {
+                walLock.unlock();
+            }
+        } else {
+            rejected = new ArrayList<>();
+            for (AuditEvent event : events) {
+                try {
+                    if (queue.offer(new AuditWal.Entry(0, event), offerTimeoutMs, TimeUnit.MILLISECONDS)) continue;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                rejected.add(event);
+            }
+        }
+        if (rejected.isEmpty()) return;
+        // Queue is full — write in the caller's thread rather than lose the events
+        syncFallbacks.add(rejected.size());
+        persist(rejected.stream().map(event -> new AuditWal.Entry(0, event)).toList());
+    }
+
+    private void runWorker() {
+        List<AuditWal.Entry> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                AuditWal.Entry first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+                batch.add(first);
+
+                // Collect until the batch is full or the flush interval elapses
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0) break;
+                    AuditWal.Entry next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) break;
+                    batch.add(next);
+                }
+
+                flushWithRetry(batch);
+                batch.clear();
+            } catch (InterruptedException e) {
+                // Shutdown requested — keep draining until the queue is empty
+                running = false;
+            }
+        }
+    }
+
+    private void flushWithRetry(List<AuditWal.Entry> batch) throws InterruptedException {
+        while (true) {
+            try {
+                persist(batch);
+                batches.increment();
+                releaseWal(batch.getLast().seq());
+                return;
+            } catch (RuntimeException e) {
+                if (!running) {
+                    log.error("Dropping {} audit events on shutdown after write failure{}", batch.size(),
+                            mode == AuditWriteMode.ASYNC_WAL ? " (kept in write-ahead file)" : "", e);
+                    return;
+                }
+                log.error("Failed to write {} audit events, retrying", batch.size(), e);
+                TimeUnit.SECONDS.sleep(1);
+            }
+        }
+    }
+
+    /**
+     * Inserts the events in a new transaction; events taken from the write-ahead file
+     * advance the checkpoint in that same transaction, so a replay never inserts them again.
+     */
+    private void persist(List<AuditWal.Entry> entries) {
+        List<ParcelAudit> entities = entries.stream().map(entry -> entry.event().toEntity()).toList();
+        // Entries are queued in sequence order; unlogged entries carry 0
+        long lastSeq = entries.getLast().seq();
+        transactionTemplate.executeWithoutResult(status -> {
+            auditRepository.saveAll(entities);
+            if (lastSeq > 0) {
+                checkpointRepository.advance(lastSeq);
+            }
+        });
+        written.add(entities.size());
+        // Async modes: the history changes only now, not when the scan committed, and only now the rows have ids
+        sessionAnalytics.record(entities);
+        entries.forEach(entry -> parcelCaches.evictAudit(entry.event().getTrackingNumber()));
+    }
+
+    private void releaseWal(long persistedSeq) {
+        if (wal == null || persistedSeq == 0) return;
+        walLock.lock();
+        try {
+            wal.release(persistedSeq);
+        } finally {
+            walLock.unlock();
+        }
+    }
+
+    private void replayWal() throws IOException {
+        long checkpoint = checkpointRepository.findById(AuditWalCheckpoint.ID)
+                .map(AuditWalCheckpoint::getPersistedSeq)
+                .orElse(0L);
+        wal = new AuditWal(walPath, walSegmentBytes, objectMapper);
+        replayed.add(wal.replay(checkpoint, batchSize, this::persist));
+        if (replayed.sum() > 0) {
+            log.warn("Replayed {} audit events from write-ahead file {} (checkpoint {})",
+                    replayed.sum(), walPath, checkpoint);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException, IOException {
+        if (worker == null) return;
+        running = false;
+        worker.join(drainTimeoutMs);
+        if (worker.isAlive()) {
+            log.warn("Audit writer did not drain within {} ms, {} events left in queue", drainTimeoutMs, queue.size());
+            worker.interrupt();
+        }
+        if (wal != null) {
+            wal.close();
+        }
+        log.info("Audit writer stopped, {} events written", written.sum());
+    }
+
+    public AuditWriterStats stats() {
+        return new AuditWriterStats(mode, queue.size(), queueCapacity, enqueued.sum(), written.sum(),
+                batches.sum(), syncFallbacks.sum(), replayed.sum());
+    }
+}
@@ -0,0 +1,84 @@
+package idhub.sortinparcels.service;
+
+import idhub.sortinparcels.dto.ParcelExcelDto;
+import idhub.sortinparcels.enums.ManifestFormat;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Compact binary manifest reader.
+ *
+ * <p>Layout: the 4-byte magic {@link #MAGIC} ({@code SPM1}) followed by records; every record is three
+ * length-prefixed UTF-8 fields — tracking number, zone code, route number — each as one unsigned length byte
+ * plus that many bytes. There is no header row and nothing to unquote, so a row costs three bulk copies.
+ */
+@Slf4j
+@Component
+public class BinaryManifestReader implements ManifestReader {
+
+    public static final byte[] MAGIC = {'S', 'P', 'M', '1'};
+
+    @Override
+    public ManifestFormat format() {
+        return ManifestFormat.BINARY;
+    }
+
+    @Override
+    public int read(Path file, int chunkSize, Consumer<List<ParcelExcelDto>> chunkConsumer) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Binary manifest is larger than 2 GB");
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            checkMagic(buffer);
+
+            ManifestRows.Chunker chunker = new ManifestRows.Chunker(chunkSize, chunkConsumer);
+            byte[] scratch = new byte[255];
+            int rowNum = 0;
+            while (buffer.hasRemaining()) {
+                rowNum++;
+                String trackingNumber = readField(buffer, scratch, rowNum);
+                String zoneCode = readField(buffer, scratch, rowNum);
+                String routeNumber = readField(buffer, scratch, rowNum);
+                chunker.add(ManifestRows.toDto(rowNum, trackingNumber, zoneCode, routeNumber));
+            }
+            chunker.flush();
+
+            log.info("Parsed {} parcels from binary manifest", chunker.parsed());
+            return chunker.parsed();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error reading binary manifest", e);
+        }
+    }
+
+    private static void checkMagic(MappedByteBuffer buffer) {
+        for (byte expected : MAGIC) {
+            if (!buffer.hasRemaining() || buffer.get() != expected) {
+                throw new IllegalArgumentException("Not a binary manifest: missing SPM1 header");
+            }
+        }
+    }
+
+    private static String readField(MappedByteBuffer buffer, byte[] scratch, int rowNum) {
+        if (!buffer.hasRemaining()) {
+            throw new IllegalArgumentException("Binary manifest is truncated in record " + rowNum);
+        }
+        int length = buffer.get() & 0xFF;
+        if (buffer.remaining() < length) {
+            throw new IllegalArgumentException("Binary manifest is truncated in record " + rowNum);
+        }
+        buffer.get(scratch, 0, length);
+        return new String(scratch, 0, length, StandardCharsets.UTF_8);
+    }
+}
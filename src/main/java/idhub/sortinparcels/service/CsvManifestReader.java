@@ -0,0 +1,161 @@
+package idhub.sortinparcels.service;
+
+import idhub.sortinparcels.dto.ParcelExcelDto;
+import idhub.sortinparcels.enums.ManifestFormat;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * CSV manifest reader: {@code trackingNumber,zoneCode,routeNumber} with a header row, UTF-8.
+ *
+ * <p>The file is memory-mapped and scanned byte by byte; no {@code Reader}, line {@code String}
+ * or split array is created. Only the three field values of a row are materialised as strings.
+ * <ul>
+ *     <li>Separator is {@code ,} or {@code ;} — detected from the header row.</li>
+ *     <li>Fields may be quoted ({@code "..."}, with {@code ""} as an escaped quote).</li>
+ *     <li>{@code \n} and {@code \r\n} line endings; a UTF-8 BOM is ignored; empty lines are skipped.</li>
+ *     <li>Columns after the third are ignored.</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+public class CsvManifestReader implements ManifestReader {
+
+    private static final int FIELDS = 3;
+
+    @Override
+    public ManifestFormat format() {
+        return ManifestFormat.CSV;
+    }
+
+    @Override
+    public int read(Path file, int chunkSize, Consumer<List<ParcelExcelDto>> chunkConsumer) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("CSV manifest is larger than 2 GB");
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            int parsed = parse(buffer, (int) size, chunkSize, chunkConsumer);
+            log.info("Parsed {} parcels from CSV", parsed);
+            return parsed;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error reading CSV manifest", e);
+        }
+    }
+
+    private int parse(MappedByteBuffer buffer, int limit, int chunkSize,
+                      Consumer<List<ParcelExcelDto>> chunkConsumer) {
+        ManifestRows.Chunker chunker = new ManifestRows.Chunker(chunkSize, chunkConsumer);
+        String[] fields = new String[FIELDS];
+        byte[] scratch = new byte[256];
+
+        int pos = skipBom(buffer, limit);
+        byte separator = detectSeparator(buffer, pos, limit);
+        int rowNum = 0;
+
+        while (pos < limit) {
+            int field = 0;
+            fields[0] = "";
+            fields[1] = "";
+            fields[2] = "";
+            boolean blankLine = true;
+
+            // One row: fields until end of line
+            while (pos < limit) {
+                byte b = buffer.get(pos);
+                if (b == '\n' || b == '\r') break;
+                blankLine = false;
+
+                int length;
+                if (b == '"') {
+                    // Quoted field: unescape into scratch
+                    pos++;
+                    length = 0;
+                    while (pos < limit) {
+                        byte c = buffer.get(pos++);
+                        if (c == '"') {
+                            if (pos < limit && buffer.get(pos) == '"') {
+                                pos++;
+                            } else {
+                                break;
+                            }
+                        }
+                        if (length == scratch.length) {
+                            scratch = Arrays.copyOf(scratch, length * 2);
+                        }
+                        scratch[length++] = c;
+                    }
+                    // Skip anything between the closing quote and the separator
+                    while (pos < limit && buffer.get(pos) != separator
+                            && buffer.get(pos) != '\n' && buffer.get(pos) != '\r') {
+                        pos++;
+                    }
+                } else {
+                    int start = pos;
+                    while (pos < limit) {
+                        byte c = buffer.get(pos);
+                        if (c == separator || c == '\n' || c == '\r') break;
+                        pos++;
+                    }
+                    length = pos - start;
+                    if (length > scratch.length) {
+                        scratch = new byte[Math.max(length, scratch.length * 2)];
+                    }
+                    buffer.get(start, scratch, 0, length);
+                }
+
+                if (field < FIELDS) {
+                    fields[field] = new String(scratch, 0, length, StandardCharsets.UTF_8);
+                }
+                field++;
+                if (pos < limit && buffer.get(pos) == separator) {
+                    pos++;
+                }
+            }
+            // End of line
+            if (pos < limit && buffer.get(pos) == '\r') pos++;
+            if (pos < limit && buffer.get(pos) == '\n') pos++;
+
+            if (blankLine) continue;
+            // Skip the header row
+            if (rowNum++ == 0) continue;
+            chunker.add(ManifestRows.toDto(rowNum - 1, fields[0], fields[1], fields[2]));
+        }
+
+        chunker.flush();
+        return chunker.parsed();
+    }
+
+    private static int skipBom(MappedByteBuffer buffer, int limit) {
+        if (limit >= 3 && buffer.get(0) == (byte) 0xEF && buffer.get(1) == (byte) 0xBB && buffer.get(2) == (byte) 0xBF) {
+            return 3;
+        }
+        return 0;
+    }
+
+    /**
+     * Semicolon if the header row contains one and no comma (spreadsheet exports in many locales), comma otherwise.
+     */
+    private static byte detectSeparator(MappedByteBuffer buffer, int pos, int limit) {
+        boolean semicolon = false;
+        for (; pos < limit; pos++) {
+            byte b = buffer.get(pos);
+            if (b == '\n' || b == '\r') break;
+            if (b == ',') return ',';
+            if (b == ';') semicolon = true;
+        }
+        return semicolon ? (byte) ';' : (byte) ',';
+    }
+}
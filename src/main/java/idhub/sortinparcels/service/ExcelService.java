@@ -1,20 +1,42 @@
 package idhub.sortinparcels.service;
 
 import idhub.sortinparcels.dto.ParcelExcelDto;
+import idhub.sortinparcels.enums.ManifestFormat;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.poifs.filesystem.FileMagic;
 import org.apache.poi.ss.usermodel.*;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
+import org.xml.sax.InputSource;
+import org.xml.sax.XMLReader;
 
+import java.io.BufferedInputStream;
 import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
-public class ExcelService {
+public class ExcelService implements ManifestReader {
+
+    /**
+     * Number of rows handed to the persistence stage at once in streaming mode.
+     */
+    @Value("${parcel.import.chunk-size:1000}")
+    private int chunkSize;
 
     /**
      * Reads the given Excel file and converts each row into ParcelExcelDto.
@@ -24,10 +46,18 @@ public class ExcelService {
      * @return list of parsed DTOs
      */
     public List<ParcelExcelDto> parseExcel(MultipartFile file) {
+        try (InputStream is = file.getInputStream()) {
+            return parseWorkbook(is);
+        } catch (Exception e) {
+            log.error("Failed to parse Excel file", e);
+            throw new RuntimeException("Error reading Excel file", e);
+        }
+    }
+
+    private List<ParcelExcelDto> parseWorkbook(InputStream is) throws Exception {
         List<ParcelExcelDto> inputList = new ArrayList<>();
 
-        try (InputStream is = file.getInputStream();
-             Workbook workbook = WorkbookFactory.create(is)) {
+        try (Workbook workbook = WorkbookFactory.create(is)) {
 
             Sheet sheet = workbook.getSheetAt(0);
 
@@ -35,38 +65,125 @@ public class ExcelService {
                 // Skip the header row
                 if (row.getRowNum() == 0) continue;
 
-                String trackingNumber = getCellValue(row.getCell(0)).trim();
-                // Skip empty rows
-                if (trackingNumber.isBlank()) {
-                    log.warn("Skipping row {} because tracking number is blank", row.getRowNum());
-                    continue;
+                ParcelExcelDto dto = ManifestRows.toDto(row.getRowNum(),
+                        getCellValue(row.getCell(0)),
+                        getCellValue(row.getCell(1)),
+                        getCellValue(row.getCell(2)));
+                if (dto != null) {
+                    inputList.add(dto);
                 }
-                String zoneCode = getCellValue(row.getCell(1)).trim();
+            }
+
+            log.info("Parsed {} parcels from Excel", inputList.size());
+        }
+
+        return inputList;
+    }
 
-                if (zoneCode.isBlank()) {
-                    log.warn("Skipping row {} because zoneCode is blank", row.getRowNum());
-                    continue;
+    /**
+     * Streams the given Excel file row by row and hands parsed DTOs to {@code chunkConsumer}
+     * in chunks of {@code parcel.import.chunk-size} rows.
+     * <p>
+     * For .xlsx files the sheet is read with POI's SAX event reader, so the workbook
+     * is never materialised in the heap, and the shared-strings table is spooled to temp files
+     * ({@link FileBackedSharedStrings}): memory is bounded by the chunk size whatever the file size.
+     * Legacy .xls files have no streaming reader and fall back to {@link #parseExcel(MultipartFile)}.
+     * <p>
+     * The same skip rules as {@link #parseExcel(MultipartFile)} apply: header row and
+     * rows with a blank tracking number, zone code or route number are ignored.
+     *
+     * @param file          uploaded Excel file (.xlsx/.xls)
+     * @param chunkConsumer persistence stage receiving every chunk of parsed rows
+     * @return number of parsed rows
+     */
+    public int streamExcel(MultipartFile file, Consumer<List<ParcelExcelDto>> chunkConsumer) {
+        Path tempFile = null;
+        try {
+            // OPCPackage needs random access to the zip; a temp file keeps it off-heap
+            tempFile = Files.createTempFile("manifest-", ".xlsx");
+            file.transferTo(tempFile);
+            return streamExcel(tempFile, chunkSize, chunkConsumer);
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("Failed to stream Excel file", e);
+            throw new RuntimeException("Error reading Excel file", e);
+        } finally {
+            deleteQuietly(tempFile);
+        }
+    }
+
+    @Override
+    public ManifestFormat format() {
+        return ManifestFormat.EXCEL;
+    }
+
+    @Override
+    public int read(Path file, int chunkSize, Consumer<List<ParcelExcelDto>> chunkConsumer) {
+        return streamExcel(file, chunkSize, chunkConsumer);
+    }
+
+    /**
+     * Same as {@link #streamExcel(MultipartFile, Consumer)} for a file already on disk
+     * and an explicit chunk size (import jobs keep chunk boundaries fixed across resumes).
+     * Exceptions thrown by {@code chunkConsumer} are propagated as they are.
+     */
+    public int streamExcel(Path file, int chunkSize, Consumer<List<ParcelExcelDto>> chunkConsumer) {
+        try {
+            if (!isOoxml(file)) {
+                List<ParcelExcelDto> all;
+                try (InputStream is = Files.newInputStream(file)) {
+                    all = parseWorkbook(is);
                 }
-                String routeNumber = getCellValue(row.getCell(2)).trim();
-                if (routeNumber.isBlank()) {
-                    log.warn("Skipping row {} because routeNumber is blank", row.getRowNum());
-                    continue;
+                for (int from = 0; from < all.size(); from += chunkSize) {
+                    chunkConsumer.accept(all.subList(from, Math.min(from + chunkSize, all.size())));
                 }
+                return all.size();
+            }
 
+            try (OPCPackage pkg = OPCPackage.open(file.toFile(), PackageAccess.READ);
+                 FileBackedSharedStrings sharedStrings = FileBackedSharedStrings.open(pkg)) {
+                XSSFReader reader = new XSSFReader(pkg);
+                ChunkingRowHandler handler = new ChunkingRowHandler(chunkSize, chunkConsumer);
 
-                inputList.add(new ParcelExcelDto(
-                        trackingNumber,
-                        zoneCode,
-                        routeNumber));
-            }
+                XMLReader parser = XMLHelper.newXMLReader();
+                parser.setContentHandler(new XSSFSheetXMLHandler(
+                        reader.getStylesTable(),
+                        null,
+                        sharedStrings,
+                        handler,
+                        new WholeNumberFormatter(),
+                        false));
 
-            log.info("Parsed {} parcels from Excel", inputList.size());
+                try (InputStream sheet = reader.getSheetsData().next()) {
+                    parser.parse(new InputSource(sheet));
+                }
+                handler.chunker.flush();
+
+                log.info("Streamed {} parcels from Excel", handler.chunker.parsed());
+                return handler.chunker.parsed();
+            }
+        } catch (RuntimeException e) {
+            throw e;
         } catch (Exception e) {
-            log.error("Failed to parse Excel file", e);
+            log.error("Failed to stream Excel file", e);
             throw new RuntimeException("Error reading Excel file", e);
         }
+    }
 
-        return inputList;
+    private boolean isOoxml(Path file) throws Exception {
+        try (InputStream is = new BufferedInputStream(Files.newInputStream(file))) {
+            return FileMagic.valueOf(is) == FileMagic.OOXML;
+        }
+    }
+
+    private void deleteQuietly(Path path) {
+        if (path == null) return;
+        try {
+            Files.deleteIfExists(path);
+        } catch (Exception e) {
+            log.warn("Failed to delete temp file {}", path, e);
+        }
     }
 
     /**
@@ -80,4 +197,50 @@ public class ExcelService {
             default -> "";
         };
     }
-}
\ No newline at end of file
+
+    /**
+     * Collects the first three cells of every SAX row and emits DTOs in fixed-size chunks.
+     */
+    private static class ChunkingRowHandler implements XSSFSheetXMLHandler.SheetContentsHandler {
+
+        private final ManifestRows.Chunker chunker;
+        private final String[] cells = new String[3];
+
+        private ChunkingRowHandler(int chunkSize, Consumer<List<ParcelExcelDto>> chunkConsumer) {
+            this.chunker = new ManifestRows.Chunker(chunkSize, chunkConsumer);
+        }
+
+        @Override
+        public void startRow(int rowNum) {
+            cells[0] = "";
+            cells[1] = "";
+            cells[2] = "";
+        }
+
+        @Override
+        public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+            int column = new CellReference(cellReference).getCol();
+            if (column < cells.length && formattedValue != null) {
+                cells[column] = formattedValue;
+            }
+        }
+
+        @Override
+        public void endRow(int rowNum) {
+            // Skip the header row
+            if (rowNum == 0) return;
+            chunker.add(ManifestRows.toDto(rowNum, cells[0], cells[1], cells[2]));
+        }
+    }
+
+    /**
+     * Formats numeric cells the same way {@link #getCellValue(Cell)} does — as a whole number —
+     * so long tracking numbers are not rendered in scientific notation.
+     */
+    private static class WholeNumberFormatter extends DataFormatter {
+        @Override
+        public String formatRawCellContents(double value, int formatIndex, String formatString) {
+            return String.valueOf((long) value);
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package idhub.sortinparcels.service;
+
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackagePart;
+import org.apache.poi.ss.usermodel.RichTextString;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.model.SharedStrings;
+import org.apache.poi.xssf.usermodel.XSSFRelation;
+import org.apache.poi.xssf.usermodel.XSSFRichTextString;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+import org.xml.sax.helpers.DefaultHandler;
+
+import javax.xml.parsers.ParserConfigurationException;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Shared-strings table of an .xlsx kept in temp files instead of the heap.
+ *
+ * <p>POI's {@code ReadOnlySharedStringsTable} holds every unique string in memory, and manifests store each
+ * tracking number as a shared string of its own, so that table grows with the row count. Here the strings are
+ * spooled once, UTF-8 encoded, to a data file and their offsets to an index file; {@link #getItemAt} answers
+ * with two positional reads. Heap use does not depend on the file, the OS page cache keeps the hot part.
+ *
+ * <p>Text of all {@code <t>} runs of an item is concatenated, as {@code ReadOnlySharedStringsTable} does.
+ * Not thread-safe: a sheet is parsed by one thread.
+ */
+final class FileBackedSharedStrings implements SharedStrings, Closeable {
+
+    private static final String SPREADSHEETML = XSSFRelation.NS_SPREADSHEETML;
+
+    private final Path dataFile;
+    private final Path indexFile;
+    private final FileChannel data;
+    private final FileChannel index;
+    private final ByteBuffer offsets = ByteBuffer.allocate(2 * Long.BYTES);
+    private final int count;
+    private final int uniqueCount;
+
+    private FileBackedSharedStrings(Path dataFile, Path indexFile, int count, int uniqueCount) throws IOException {
+        this.dataFile = dataFile;
+        this.indexFile = indexFile;
+        this.data = FileChannel.open(dataFile, StandardOpenOption.READ);
+        this.index = FileChannel.open(indexFile, StandardOpenOption.READ);
+        this.count = count;
+        this.uniqueCount = uniqueCount;
+    }
+
+    /**
+     * Spools the shared-strings part of the package (if any) to temp files.
+     */
+    static FileBackedSharedStrings open(OPCPackage pkg)
+            throws IOException, SAXException, ParserConfigurationException {
+        List<PackagePart> parts = pkg.getPartsByContentType(XSSFRelation.SHARED_STRINGS.getContentType());
+        Path dataFile = Files.createTempFile("manifest-sst-", ".dat");
+        Path indexFile = Files.createTempFile("manifest-sst-", ".idx");
+        try {
+            Spooler spooler;
+            try (OutputStream dataOut = new BufferedOutputStream(Files.newOutputStream(dataFile));
+                 DataOutputStream indexOut = new DataOutputStream(
+                         new BufferedOutputStream(Files.newOutputStream(indexFile)))) {
+                spooler = new Spooler(dataOut, indexOut);
+                if (!parts.isEmpty()) {
+                    try (InputStream sst = parts.getFirst().getInputStream()) {
+                        XMLReader parser = XMLHelper.newXMLReader();
+                        parser.setContentHandler(spooler);
+                        parser.parse(new InputSource(sst));
+                    }
+                }
+                // End offset of the last item, so every item is read as [offset(i), offset(i + 1))
+                indexOut.writeLong(spooler.offset);
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            int uniqueCount = spooler.uniqueCount;
+            return new FileBackedSharedStrings(dataFile, indexFile,
+                    spooler.count >= 0 ? spooler.count : uniqueCount, uniqueCount);
+        } catch (IOException | SAXException | ParserConfigurationException | RuntimeException e) {
+            Files.deleteIfExists(dataFile);
+            Files.deleteIfExists(indexFile);
+            throw e;
+        }
+    }
+
+    @Override
+    public RichTextString getItemAt(int idx) {
+        if (idx < 0 || idx >= uniqueCount) {
+            throw new IndexOutOfBoundsException("Shared string " + idx + " of " + uniqueCount);
+        }
+        try {
+            offsets.clear();
+            readFully(index, offsets, (long) idx * Long.BYTES);
+            long start = offsets.getLong(0);
+            long end = offsets.getLong(Long.BYTES);
+            ByteBuffer bytes = ByteBuffer.allocate((int) (end - start));
+            readFully(data, bytes, start);
+            return new XSSFRichTextString(new String(bytes.array(), StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public int getCount() {
+        return count;
+    }
+
+    @Override
+    public int getUniqueCount() {
+        return uniqueCount;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            data.close();
+            index.close();
+        } finally {
+            Files.deleteIfExists(dataFile);
+            Files.deleteIfExists(indexFile);
+        }
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                throw new EOFException("Shared-strings spool file is truncated");
+            }
+            position += read;
+        }
+    }
+
+    /**
+     * SAX handler writing each {@code <si>} item to the data file and its offset to the index file.
+     */
+    private static final class Spooler extends DefaultHandler {
+
+        private final OutputStream dataOut;
+        private final DataOutputStream indexOut;
+        private final StringBuilder item = new StringBuilder();
+        private boolean inText;
+        private long offset;
+        private int count = -1;
+        private int uniqueCount;
+
+        private Spooler(OutputStream dataOut, DataOutputStream indexOut) {
+            this.dataOut = dataOut;
+            this.indexOut = indexOut;
+        }
+
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes attributes) {
+            if (!SPREADSHEETML.equals(uri)) return;
+            switch (localName) {
+                case "sst" -> {
+                    String declared = attributes.getValue("count");
+                    if (declared != null) count = Integer.parseInt(declared);
+                }
+                case "si" -> item.setLength(0);
+                case "t" -> inText = true;
+                default -> {
+                }
+            }
+        }
+
+        @Override
+        public void endElement(String uri, String localName, String qName) {
+            if (!SPREADSHEETML.equals(uri)) return;
+            if ("t".equals(localName)) {
+                inText = false;
+            } else if ("si".equals(localName)) {
+                byte[] bytes = item.toString().getBytes(StandardCharsets.UTF_8);
+                try {
+                    indexOut.writeLong(offset);
+                    dataOut.write(bytes);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                offset += bytes.length;
+                uniqueCount++;
+            }
+        }
+
+        @Override
+        public void characters(char[] ch, int start, int length) {
+            if (inText) {
+                item.append(ch, start, length);
+            }
+        }
+    }
+}
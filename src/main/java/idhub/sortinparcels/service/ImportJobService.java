@@ -0,0 +1,321 @@
+package idhub.sortinparcels.service;
+
+import idhub.sortinparcels.dto.ImportJobProgress;
+import idhub.sortinparcels.dto.ParcelExcelDto;
+import idhub.sortinparcels.enums.ImportJobStatus;
+import idhub.sortinparcels.enums.ManifestFormat;
+import idhub.sortinparcels.exceptions.ImportJobNotFoundException;
+import idhub.sortinparcels.model.ImportJob;
+import idhub.sortinparcels.model.ImportJobChunk;
+import idhub.sortinparcels.repository.ImportJobChunkRepository;
+import idhub.sortinparcels.repository.ImportJobRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Asynchronous, resumable manifest imports.
+ *
+ * <p>An upload is stored under {@code parcel.import.job-dir} and a job id is returned right away.
+ * The job then runs as a pipeline:
+ * <ul>
+ *     <li>a job thread streams the file with the {@link ManifestReader} of its format
+ *         and cuts it into chunks of {@code parcel.import.chunk-size} rows;</li>
+ *     <li>{@code parcel.import.workers} worker threads persist chunks in parallel, each chunk in its own
+ *         transaction via {@link ParcelService#importParcelsFromDto} together with its {@link ImportJobChunk} marker;</li>
+ *     <li>at most {@code 2 × workers} chunks are in flight, so parsing never runs far ahead of the database.</li>
+ * </ul>
+ *
+ * <p>A failure stops the job at the chunks committed so far. {@link #resume(String)} re-reads the stored file
+ * and skips every chunk that has a marker, so nothing is inserted twice and nothing committed is redone.
+ * Jobs interrupted by a shutdown are resumed automatically on startup.
+ *
+ * <p>Chunks commit out of order, so for a tracking number repeated in different chunks
+ * it is not defined which row wins (within one chunk the first row still wins).
+ */
+@Slf4j
+@Service
+public class ImportJobService {
+
+    /**
+     * Attempts per chunk; a retry resolves tracking numbers inserted concurrently by another chunk.
+     */
+    private static final int CHUNK_ATTEMPTS = 3;
+
+    /**
+     * How often a job thread waiting for chunks re-checks for shutdown.
+     */
+    private static final long AWAIT_POLL_MS = 500;
+
+    /**
+     * How long {@link #shutdown()} waits for job and worker threads to stop.
+     */
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 10;
+
+    private final ImportJobRepository jobRepository;
+    private final ImportJobChunkRepository chunkRepository;
+    private final ManifestReaders manifestReaders;
+    private final ParcelService parcelService;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Path jobDir;
+    private final int chunkSize;
+    private final int workers;
+
+    private final ExecutorService jobThreads = Executors.newCachedThreadPool(
+            Thread.ofPlatform().name("import-job-", 0).factory());
+    private final ExecutorService workerThreads;
+    private final Set<String> running = ConcurrentHashMap.newKeySet();
+    private volatile boolean shuttingDown;
+
+    public ImportJobService(ImportJobRepository jobRepository,
+                            ImportJobChunkRepository chunkRepository,
+                            ManifestReaders manifestReaders,
+                            ParcelService parcelService,
+                            TransactionTemplate transactionTemplate,
+                            @Value("${parcel.import.job-dir:./data/imports}") Path jobDir,
+                            @Value("${parcel.import.chunk-size:1000}") int chunkSize,
+                            @Value("${parcel.import.workers:4}") int workers) {
+        this.jobRepository = jobRepository;
+        this.chunkRepository = chunkRepository;
+        this.manifestReaders = manifestReaders;
+        this.parcelService = parcelService;
+        this.transactionTemplate = transactionTemplate;
+        this.jobDir = jobDir;
+        this.chunkSize = chunkSize;
+        this.workers = workers;
+        this.workerThreads = Executors.newFixedThreadPool(workers,
+                Thread.ofPlatform().name("import-worker-", 0).factory());
+    }
+
+    /**
+     * Stores the upload, registers a job and starts it in the background.
+     */
+    public ImportJobProgress submit(MultipartFile file) {
+        ImportJob job;
+        try {
+            Files.createDirectories(jobDir);
+            Path stored = Files.createTempFile(jobDir, "manifest-", ".upload");
+            file.transferTo(stored);
+            ManifestFormat format = manifestReaders.detect(file.getContentType(), file.getOriginalFilename());
+            job = jobRepository.save(new ImportJob(file.getOriginalFilename(), stored.toString(), format, chunkSize));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to store uploaded manifest", e);
+        }
+        log.info("Import job {} queued for {}", job.getId(), job.getFileName());
+        start(job.getId());
+        return getProgress(job.getId());
+    }
+
+    /**
+     * Restarts a failed job from its last committed chunks. Completed and running jobs are left as they are.
+     */
+    public ImportJobProgress resume(String jobId) {
+        ImportJob job = findJob(jobId);
+        if (job.getStatus() != ImportJobStatus.COMPLETED && !running.contains(jobId)) {
+            job.setStatus(ImportJobStatus.QUEUED);
+            job.setError(null);
+            jobRepository.save(job);
+            start(jobId);
+        }
+        return getProgress(jobId);
+    }
+
+    public ImportJobProgress getProgress(String jobId) {
+        return ImportJobProgress.of(findJob(jobId), chunkRepository.sumByJobId(jobId));
+    }
+
+    public List<ImportJobProgress> getJobs() {
+        return jobRepository.findAllByOrderByCreatedAtDesc().stream()
+                .map(job -> ImportJobProgress.of(job, chunkRepository.sumByJobId(job.getId())))
+                .toList();
+    }
+
+    /**
+     * Picks up jobs that were queued or running when the application stopped.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterrupted() {
+        for (ImportJob job : jobRepository.findByStatusIn(List.of(ImportJobStatus.QUEUED, ImportJobStatus.RUNNING))) {
+            log.warn("Resuming interrupted import job {}", job.getId());
+            start(job.getId());
+        }
+    }
+
+    private void start(String jobId) {
+        if (running.add(jobId)) {
+            jobThreads.execute(() -> {
+                try {
+                    run(jobId);
+                } finally {
+                    running.remove(jobId);
+                }
+            });
+        }
+    }
+
+    private void run(String jobId) {
+        ImportJob job = findJob(jobId);
+        job.setStatus(ImportJobStatus.RUNNING);
+        job.setFinishedAt(null);
+        jobRepository.save(job);
+
+        Set<Integer> committed = chunkRepository.findCommittedChunkIndexes(jobId);
+        Semaphore inFlight = new Semaphore(workers * 2);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        AtomicInteger nextChunk = new AtomicInteger();
+        List<CompletableFuture<Void>> chunks = new ArrayList<>();
+
+        try {
+            ManifestReader reader = manifestReaders.get(job.getFormat());
+            int parsedRows = reader.read(Path.of(job.getFilePath()), job.getChunkSize(), chunk -> {
+                int chunkIndex = nextChunk.getAndIncrement();
+                if (committed.contains(chunkIndex)) return;
+                if (failure.get() != null) {
+                    throw new IllegalStateException("Import stopped after a failed chunk", failure.get());
+                }
+                try {
+                    inFlight.acquire();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new CancellationException("Import job " + jobId + " interrupted");
+                }
+                List<ParcelExcelDto> rows = List.copyOf(chunk);
+                chunks.add(CompletableFuture.runAsync(() -> {
+                    try {
+                        commitChunk(jobId, chunkIndex, rows);
+                    } catch (Throwable e) {
+                        failure.compareAndSet(null, e);
+                    } finally {
+                        inFlight.release();
+                    }
+                }, workerThreads));
+            });
+            awaitChunks(chunks);
+            if (failure.get() != null) {
+                throw failure.get();
+            }
+
+            job.setParsedRows(parsedRows);
+            job.setStatus(ImportJobStatus.COMPLETED);
+            deleteStoredFile(job);
+            log.info("Import job {} completed: {} rows", jobId, parsedRows);
+        } catch (Throwable e) {
+            if (shuttingDown) {
+                // Queued chunks were dropped by the worker pool; their futures would never complete
+                chunks.forEach(chunk -> chunk.cancel(false));
+                log.warn("Import job {} interrupted by shutdown, it resumes on the next startup", jobId);
+                return;
+            }
+            // Let chunks already handed to workers finish, so the committed state is final
+            try {
+                awaitChunks(chunks);
+            } catch (InterruptedException interrupted) {
+                Thread.currentThread().interrupt();
+                chunks.forEach(chunk -> chunk.cancel(false));
+                return;
+            }
+            Throwable cause = failure.get() != null ? failure.get() : e;
+            job.setStatus(ImportJobStatus.FAILED);
+            job.setError(truncate(String.valueOf(cause.getMessage())));
+            log.error("Import job {} failed after {} committed chunks", jobId,
+                    chunkRepository.sumByJobId(jobId).chunks(), cause);
+        }
+        job.setFinishedAt(Instant.now());
+        jobRepository.save(job);
+    }
+
+    /**
+     * Waits for the handed-out chunks; chunk failures are collected by the chunks themselves.
+     * Polls instead of {@code join()}, so the job thread stays responsive to interrupts and shutdown.
+     */
+    private void awaitChunks(List<CompletableFuture<Void>> chunks) throws InterruptedException {
+        CompletableFuture<Void> all = CompletableFuture.allOf(chunks.toArray(CompletableFuture[]::new));
+        while (true) {
+            if (shuttingDown) {
+                throw new InterruptedException("Shutdown while waiting for import chunks");
+            }
+            try {
+                all.get(AWAIT_POLL_MS, TimeUnit.MILLISECONDS);
+                return;
+            } catch (TimeoutException e) {
+                // Check for shutdown and keep waiting
+            } catch (ExecutionException | CancellationException e) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Persists one chunk and its marker atomically.
+     */
+    private void commitChunk(String jobId, int chunkIndex, List<ParcelExcelDto> rows) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    int imported = parcelService.importParcelsFromDto(rows);
+                    chunkRepository.save(new ImportJobChunk(jobId, chunkIndex, rows.size(), imported, Instant.now()));
+                });
+                return;
+            } catch (DataIntegrityViolationException e) {
+                // Another chunk inserted one of our tracking numbers in the meantime
+                if (attempt == CHUNK_ATTEMPTS) throw e;
+                log.debug("Retrying chunk {} of import job {} after a concurrent duplicate", chunkIndex, jobId);
+            }
+        }
+    }
+
+    private ImportJob findJob(String jobId) {
+        return jobRepository.findById(jobId).orElseThrow(() -> new ImportJobNotFoundException(jobId));
+    }
+
+    private void deleteStoredFile(ImportJob job) {
+        try {
+            Files.deleteIfExists(Path.of(job.getFilePath()));
+        } catch (IOException e) {
+            log.warn("Failed to delete stored manifest {}", job.getFilePath(), e);
+        }
+    }
+
+    private static String truncate(String message) {
+        return message.length() <= 1000 ? message : message.substring(0, 1000);
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        // Interrupted jobs stay RUNNING in the database and are resumed on the next startup
+        shuttingDown = true;
+        workerThreads.shutdownNow();
+        jobThreads.shutdownNow();
+        if (!workerThreads.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                || !jobThreads.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+            log.warn("Import threads did not stop within {} s", SHUTDOWN_TIMEOUT_SECONDS);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package idhub.sortinparcels.service;
+
+import idhub.sortinparcels.dto.ParcelExcelDto;
+import idhub.sortinparcels.enums.ManifestFormat;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Reads one manifest format into {@link ParcelExcelDto} chunks.
+ * All readers apply the same skip rules ({@link ManifestRows#toDto}).
+ */
+public interface ManifestReader {
+
+    ManifestFormat format();
+
+    /**
+     * Streams {@code file} and hands parsed rows to {@code chunkConsumer} in chunks of {@code chunkSize}.
+     * Exceptions thrown by {@code chunkConsumer} are propagated as they are.
+     *
+     * @return number of parsed rows
+     */
+    int read(Path file, int chunkSize, Consumer<List<ParcelExcelDto>> chunkConsumer);
+}
@@ -0,0 +1,95 @@
+package idhub.sortinparcels.service;
+
+import idhub.sortinparcels.dto.ParcelExcelDto;
+import idhub.sortinparcels.enums.ManifestFormat;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Picks the {@link ManifestReader} for an upload.
+ *
+ * <p>The format comes from the content type; generic types ({@code application/octet-stream}, missing)
+ * fall back to the file extension, and anything unrecognised is treated as Excel as before.
+ */
+@Slf4j
+@Component
+public class ManifestReaders {
+
+    /**
+     * Content type of the compact binary format.
+     */
+    public static final String BINARY_CONTENT_TYPE = "application/vnd.sortinparcels.manifest";
+
+    private final Map<ManifestFormat, ManifestReader> readers = new EnumMap<>(ManifestFormat.class);
+    private final int chunkSize;
+
+    public ManifestReaders(List<ManifestReader> readers,
+                           @Value("${parcel.import.chunk-size:1000}") int chunkSize) {
+        readers.forEach(reader -> this.readers.put(reader.format(), reader));
+        this.chunkSize = chunkSize;
+    }
+
+    public ManifestFormat detect(String contentType, String fileName) {
+        String type = contentType == null ? "" : contentType.toLowerCase(Locale.ROOT);
+        if (type.startsWith("text/csv") || type.startsWith("application/csv")) {
+            return ManifestFormat.CSV;
+        }
+        if (type.startsWith(BINARY_CONTENT_TYPE)) {
+            return ManifestFormat.BINARY;
+        }
+        if (type.startsWith("application/vnd.openxmlformats-officedocument.spreadsheetml")
+                || type.startsWith("application/vnd.ms-excel")) {
+            return ManifestFormat.EXCEL;
+        }
+
+        String name = fileName == null ? "" : fileName.toLowerCase(Locale.ROOT);
+        if (name.endsWith(".csv")) return ManifestFormat.CSV;
+        if (name.endsWith(".spm")) return ManifestFormat.BINARY;
+        return ManifestFormat.EXCEL;
+    }
+
+    public ManifestReader get(ManifestFormat format) {
+        return readers.get(format);
+    }
+
+    /**
+     * Streams an uploaded manifest in chunks of {@code parcel.import.chunk-size} rows.
+     *
+     * @return number of parsed rows
+     */
+    public int read(MultipartFile file, Consumer<List<ParcelExcelDto>> chunkConsumer) {
+        ManifestFormat format = detect(file.getContentType(), file.getOriginalFilename());
+        Path tempFile = null;
+        try {
+            // Readers map or open the file randomly, so the upload goes to disk first
+            tempFile = Files.createTempFile("manifest-", ".upload");
+            file.transferTo(tempFile);
+            return get(format).read(tempFile, chunkSize, chunkConsumer);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to store uploaded manifest", e);
+        } finally {
+            deleteQuietly(tempFile);
+        }
+    }
+
+    private void deleteQuietly(Path path) {
+        if (path == null) return;
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Failed to delete temp file {}", path, e);
+        }
+    }
+}
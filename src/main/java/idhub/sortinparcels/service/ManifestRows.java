@@ -0,0 +1,79 @@
+package idhub.sortinparcels.service;
+
+import idhub.sortinparcels.dto.ParcelExcelDto;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Row rules shared by all {@link ManifestReader}s.
+ */
+@Slf4j
+final class ManifestRows {
+
+    private ManifestRows() {
+    }
+
+    /**
+     * Applies the blank-cell skip rules shared by all manifest readers.
+     *
+     * @return DTO for the row or {@code null} if the row must be skipped
+     */
+    static ParcelExcelDto toDto(int rowNum, String trackingNumber, String zoneCode, String routeNumber) {
+        trackingNumber = trackingNumber.trim();
+        // Skip empty rows
+        if (trackingNumber.isBlank()) {
+            log.warn("Skipping row {} because tracking number is blank", rowNum);
+            return null;
+        }
+        zoneCode = zoneCode.trim();
+        if (zoneCode.isBlank()) {
+            log.warn("Skipping row {} because zoneCode is blank", rowNum);
+            return null;
+        }
+        routeNumber = routeNumber.trim();
+        if (routeNumber.isBlank()) {
+            log.warn("Skipping row {} because routeNumber is blank", rowNum);
+            return null;
+        }
+        return new ParcelExcelDto(trackingNumber, zoneCode, routeNumber);
+    }
+
+    /**
+     * Collects rows and emits them in fixed-size chunks.
+     */
+    static final class Chunker {
+
+        private final int chunkSize;
+        private final Consumer<List<ParcelExcelDto>> chunkConsumer;
+        private List<ParcelExcelDto> chunk;
+        private int parsed;
+
+        Chunker(int chunkSize, Consumer<List<ParcelExcelDto>> chunkConsumer) {
+            this.chunkSize = chunkSize;
+            this.chunkConsumer = chunkConsumer;
+            this.chunk = new ArrayList<>(chunkSize);
+        }
+
+        void add(ParcelExcelDto dto) {
+            if (dto == null) return;
+            chunk.add(dto);
+            parsed++;
+            if (chunk.size() >= chunkSize) {
+                flush();
+            }
+        }
+
+        void flush() {
+            if (chunk.isEmpty()) return;
+            chunkConsumer.accept(chunk);
+            chunk = new ArrayList<>(chunkSize);
+        }
+
+        int parsed() {
+            return parsed;
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package idhub.sortinparcels.service;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import idhub.sortinparcels.dto.AuditWriterStats;
+import idhub.sortinparcels.dto.IndexStats;
+import idhub.sortinparcels.utils.BoundedTtlCache;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Renders all application metrics in the Prometheus text exposition format (version 0.0.4).
+ *
+ * <p>Sources:
+ * <ul>
+ *     <li>{@link ScanMetrics} — scan stage latencies, scan outcomes, slow scans, import throughput.</li>
+ *     <li>{@link ParcelIndex} and {@link AuditWriter} — their existing stats snapshots.</li>
+ *     <li>{@link TrackingNumberFilter} — Bloom filter fill, fast rejects and expected/observed false positives.</li>
+ *     <li>Lookup caches ({@link ParcelCaches}) — size, hits, misses and evictions per cache.</li>
+ *     <li>HikariCP pool — active, idle, pending and total connections.</li>
+ *     <li>Hibernate statistics — only when {@code hibernate.generate_statistics} is enabled,
+ *         since collecting them costs a little on every query.</li>
+ * </ul>
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MetricsExporter {
+
+    private final ScanMetrics scanMetrics;
+    private final ParcelIndex parcelIndex;
+    private final AuditWriter auditWriter;
+    private final ParcelCaches parcelCaches;
+    private final TrackingNumberFilter trackingNumberFilter;
+    private final DataSource dataSource;
+    private final EntityManagerFactory entityManagerFactory;
+
+    public String scrape() {
+        StringBuilder out = new StringBuilder(8192);
+        scanMetrics.writePrometheus(out);
+        writeIndex(out, parcelIndex.stats());
+        trackingNumberFilter.writePrometheus(out);
+        writeAuditWriter(out, auditWriter.stats());
+        writeCaches(out, parcelCaches.boundedCaches());
+        writeConnectionPool(out);
+        writeHibernate(out);
+        return out.toString();
+    }
+
+    private void writeIndex(StringBuilder out, IndexStats stats) {
+        gauge(out, "parcel_index_size", "Parcels held in the in-memory index", stats.getSize());
+        counter(out, "parcel_index_hits_total", "Index lookups answered from memory", stats.getHits());
+        counter(out, "parcel_index_misses_total", "Index lookups that fell back to the database", stats.getMisses());
+        counter(out, "parcel_index_evictions_total", "Entries removed from the index", stats.getEvictions());
+        gauge(out, "parcel_index_uncompressed", "Indexed parcels whose tracking number is kept as a string",
+                stats.getUncompressed());
+        gauge(out, "parcel_index_footprint_bytes", "Heap held by the packed index", stats.getFootprintBytes());
+    }
+
+    private void writeAuditWriter(StringBuilder out, AuditWriterStats stats) {
+        gauge(out, "parcel_audit_queue_size", "Audit events waiting in the async queue", stats.getQueueSize());
+        gauge(out, "parcel_audit_queue_capacity", "Capacity of the async audit queue", stats.getQueueCapacity());
+        counter(out, "parcel_audit_written_total", "Audit rows inserted", stats.getWritten());
+        counter(out, "parcel_audit_batches_total", "Batches flushed by the async audit writer", stats.getBatches());
+        counter(out, "parcel_audit_sync_fallbacks_total", "Audit events written synchronously because the queue was full",
+                stats.getSyncFallbacks());
+    }
+
+    private void writeCaches(StringBuilder out, List<BoundedTtlCache> caches) {
+        perCache(out, "parcel_cache_size", "Entries held in the lookup cache", "gauge", caches, BoundedTtlCache::size);
+        perCache(out, "parcel_cache_hits_total", "Lookups answered from the cache", "counter", caches,
+                BoundedTtlCache::hits);
+        perCache(out, "parcel_cache_misses_total", "Lookups that went to the database", "counter", caches,
+                BoundedTtlCache::misses);
+        perCache(out, "parcel_cache_evictions_total", "Entries dropped by size or TTL", "counter", caches,
+                BoundedTtlCache::evictions);
+    }
+
+    private static void perCache(StringBuilder out, String name, String help, String type,
+                                 List<BoundedTtlCache> caches, ToDoubleFunction<BoundedTtlCache> value) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+        for (BoundedTtlCache cache : caches) {
+            out.append(name).append("{cache=\"").append(escapeLabelValue(cache.getName())).append("\"} ")
+                    .append(value.applyAsDouble(cache)).append('\n');
+        }
+    }
+
+    private void writeConnectionPool(StringBuilder out) {
+        HikariPoolMXBean pool = hikariPool();
+        if (pool == null) return;
+        gauge(out, "hikaricp_connections_active", "Connections in use", pool.getActiveConnections());
+        gauge(out, "hikaricp_connections_idle", "Idle connections", pool.getIdleConnections());
+        gauge(out, "hikaricp_connections_pending", "Threads waiting for a connection", pool.getThreadsAwaitingConnection());
+        gauge(out, "hikaricp_connections", "Total connections", pool.getTotalConnections());
+    }
+
+    private HikariPoolMXBean hikariPool() {
+        try {
+            if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                return dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean();
+            }
+        } catch (SQLException e) {
+            log.debug("Connection pool is not HikariCP", e);
+        }
+        return null;
+    }
+
+    private void writeHibernate(StringBuilder out) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        if (!statistics.isStatisticsEnabled()) return;
+        counter(out, "hibernate_statements_prepared_total", "JDBC statements prepared",
+                statistics.getPrepareStatementCount());
+        counter(out, "hibernate_queries_executed_total", "HQL/SQL queries executed", statistics.getQueryExecutionCount());
+        gauge(out, "hibernate_query_max_seconds", "Slowest query execution time",
+                statistics.getQueryExecutionMaxTime() / 1000.0);
+        counter(out, "hibernate_entities_inserted_total", "Entity inserts", statistics.getEntityInsertCount());
+        counter(out, "hibernate_entities_updated_total", "Entity updates", statistics.getEntityUpdateCount());
+        counter(out, "hibernate_entities_loaded_total", "Entity loads", statistics.getEntityLoadCount());
+        counter(out, "hibernate_flushes_total", "Session flushes", statistics.getFlushCount());
+        counter(out, "hibernate_transactions_total", "Completed transactions", statistics.getTransactionCount());
+        counter(out, "hibernate_optimistic_failures_total", "Optimistic lock failures",
+                statistics.getOptimisticFailureCount());
+    }
+
+    private static void gauge(StringBuilder out, String name, String help, double value) {
+        metric(out, name, help, "gauge", value);
+    }
+
+    private static void counter(StringBuilder out, String name, String help, double value) {
+        metric(out, name, help, "counter", value);
+    }
+
+    private static void metric(StringBuilder out, String name, String help, String type, double value) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+        out.append(name).append(' ').append(value).append('\n');
+    }
+
+    /**
+     * Escapes a label value for the Prometheus text format: backslash, double quote and line feed
+     * become {@code \\}, {@code \"} and {@code \n}.
+     */
+    static String escapeLabelValue(String value) {
+        String text = String.valueOf(value);
+        StringBuilder escaped = null;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            String replacement = switch (c) {
+                case '\\' -> "\\\\";
+                case '"' -> "\\\"";
+                case '\n' -> "\\n";
+                default -> null;
+            };
+            if (replacement != null && escaped == null) {
+                escaped = new StringBuilder(text.length() + 8).append(text, 0, i);
+            }
+            if (escaped != null) {
+                if (replacement != null) escaped.append(replacement);
+                else escaped.append(c);
+            }
+        }
+        return escaped == null ? text : escaped.toString();
+    }
+}
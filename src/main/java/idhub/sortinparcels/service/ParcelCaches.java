@@ -0,0 +1,81 @@
+package idhub.sortinparcels.service;
+
+import idhub.sortinparcels.utils.BoundedTtlCache;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Names of the lookup caches and their invalidation.
+ *
+ * <p>Reads go through {@code @Cacheable} on the service methods; writers call the {@code evict*} methods
+ * once their transaction has committed, so a reader never re-caches the pre-commit state for a whole TTL.
+ * A lookup that starts before the commit and finishes after the eviction can still cache the old value —
+ * the TTL bounds that window.
+ */
+@Component
+@RequiredArgsConstructor
+public class ParcelCaches {
+
+    /**
+     * {@code ParcelService#getParcel} by tracking number. Unknown numbers are not cached.
+     */
+    public static final String PARCELS = "parcels";
+
+    /**
+     * {@code AuditService#getEventsByTrackingNumber} — hot audit history of one parcel.
+     */
+    public static final String AUDIT_BY_TRACKING_NUMBER = "auditByTrackingNumber";
+
+    /**
+     * {@code ParcelService#countByStatus}.
+     */
+    public static final String STATUS_COUNTS = "parcelStatusCounts";
+
+    private final CacheManager cacheManager;
+
+    public void evictParcel(String trackingNumber) {
+        cache(PARCELS).evict(trackingNumber);
+    }
+
+    public void evictParcels(Collection<String> trackingNumbers) {
+        Cache cache = cache(PARCELS);
+        trackingNumbers.forEach(cache::evict);
+    }
+
+    public void evictAudit(String trackingNumber) {
+        cache(AUDIT_BY_TRACKING_NUMBER).evict(trackingNumber);
+    }
+
+    public void clearAudit() {
+        cache(AUDIT_BY_TRACKING_NUMBER).clear();
+    }
+
+    public void evictStatusCounts() {
+        cache(STATUS_COUNTS).clear();
+    }
+
+    public void clearAll() {
+        cacheManager.getCacheNames().forEach(name -> cache(name).clear());
+    }
+
+    /**
+     * Caches that keep hit/miss counters, for metrics.
+     */
+    public List<BoundedTtlCache> boundedCaches() {
+        return cacheManager.getCacheNames().stream()
+                .map(cacheManager::getCache)
+                .filter(BoundedTtlCache.class::isInstance)
+                .map(BoundedTtlCache.class::cast)
+                .toList();
+    }
+
+    private Cache cache(String name) {
+        return Objects.requireNonNull(cacheManager.getCache(name), () -> "Cache " + name + " is not configured");
+    }
+}
@@ -0,0 +1,403 @@
+package idhub.sortinparcels.service;
+
+import idhub.sortinparcels.dto.IndexStats;
+import idhub.sortinparcels.dto.ParcelSnapshot;
+import idhub.sortinparcels.enums.ParcelStatus;
+import idhub.sortinparcels.model.Parcel;
+import idhub.sortinparcels.repository.ParcelRepository;
+import idhub.sortinparcels.utils.TrackingNumberCodec;
+import idhub.sortinparcels.utils.TrackingNumberTable;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.BiConsumer;
+import java.util.stream.Stream;
+
+/**
+ * Warm, concurrent in-memory index of parcels keyed by tracking number.
+ *
+ * <p>Allows the scan endpoint to decide the route and detect repeated scans
+ * without a SELECT against the {@code parcels} table.
+ * <ul>
+ *     <li>Filled after every Excel import.</li>
+ *     <li>Updated on every status change, only after the surrounding transaction commits.</li>
+ *     <li>Rebuilt from the database on application startup.</li>
+ * </ul>
+ *
+ * <p>A miss does not mean "parcel does not exist": callers fall back to the database
+ * and put the loaded parcel back into the index.
+ *
+ * <p>Sized for multi-million parcel days: there is no object per parcel. Tracking numbers are packed
+ * into two {@code long}s by {@link TrackingNumberCodec} and mapped to a row by a primitive
+ * {@link TrackingNumberTable}; the row's state lives in parallel arrays (status ordinal, dictionary ids of
+ * zone, route and scanner, scan time in epoch nanos). Zones, routes and scanners repeat across parcels,
+ * so each distinct value is stored once. Numbers the codec cannot pack fall back to a plain map.
+ * Lookups take an optimistic {@link StampedLock} read: no CAS on a shared word, so scanner threads do not
+ * contend with each other, and the read lock is only taken if a write overlapped. Writes are short and
+ * happen after commit.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ParcelIndex {
+
+    private static final long NO_TIME = Long.MIN_VALUE;
+    private static final ParcelStatus[] STATUSES = ParcelStatus.values();
+
+    private final ParcelRepository parcelRepository;
+
+    private final StampedLock lock = new StampedLock();
+    private final TrackingNumberTable table = new TrackingNumberTable(1024);
+    private final Map<String, Entry> uncompressed = new ConcurrentHashMap<>();
+
+    // Row columns, indexed by the value stored in the table
+    private byte[] statuses = new byte[1024];
+    private int[] zones = new int[1024];
+    private int[] routes = new int[1024];
+    private int[] scanners = new int[1024];
+    private long[] scannedAt = new long[1024];
+    private int rows;
+    private int[] freeRows = new int[16];
+    private int freeCount;
+
+    private final Dictionary zoneCodes = new Dictionary();
+    private final Dictionary routeNumbers = new Dictionary();
+    private final Dictionary scannerIds = new Dictionary();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Indexed state of a single parcel.
+     *
+     * @param status      Current sorting status.
+     * @param zoneCode    Warehouse sorting zone.
+     * @param routeNumber Courier route the parcel belongs to.
+     * @param scannedAt   Time of the first successful scan (null while pending).
+     * @param scannedBy   Scanner or employee of the first successful scan (null while pending).
+     */
+    public record Entry(ParcelStatus status, String zoneCode, String routeNumber,
+                        Instant scannedAt, String scannedBy) {
+
+        public static Entry of(ParcelSnapshot snapshot) {
+            return new Entry(
+                    snapshot.status(),
+                    snapshot.zoneCode(),
+                    snapshot.routeNumber(),
+                    snapshot.scannedAt(),
+                    snapshot.scannedBy());
+        }
+    }
+
+    /**
+     * Interned values of one column; ids are never reused, the set of zones, routes and scanners being small.
+     */
+    private static final class Dictionary {
+        private final Map<String, Integer> ids = new HashMap<>();
+        private final List<String> values = new ArrayList<>();
+
+        private int id(String value) {
+            if (value == null) return -1;
+            return ids.computeIfAbsent(value, key -> {
+                values.add(key);
+                return values.size() - 1;
+            });
+        }
+
+        private String value(int id) {
+            return id < 0 ? null : values.get(id);
+        }
+
+        private void clear() {
+            ids.clear();
+            values.clear();
+        }
+    }
+
+    /**
+     * Looks up a parcel in memory and records a hit or a miss.
+     */
+    public Optional<Entry> lookup(String trackingNumber) {
+        Entry entry = find(trackingNumber);
+        if (entry == null) {
+            misses.increment();
+            return Optional.empty();
+        }
+        hits.increment();
+        return Optional.of(entry);
+    }
+
+    /**
+     * Whether the parcel is indexed; not counted as a hit or a miss. Used by import dedup.
+     */
+    public boolean contains(String trackingNumber) {
+        if (!TrackingNumberCodec.encodable(trackingNumber)) {
+            return uncompressed.containsKey(trackingNumber);
+        }
+        long high = TrackingNumberCodec.high(trackingNumber);
+        long low = TrackingNumberCodec.low(trackingNumber);
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0) {
+            try {
+                boolean found = table.get(high, low) != TrackingNumberTable.NO_VALUE;
+                if (lock.validate(stamp)) return found;
+            } catch (RuntimeException e) {
+                // Torn read during a concurrent write — repeated under the read lock
+            }
+        }
+        stamp = lock.readLock();
+        try {
+            return table.get(high, low) != TrackingNumberTable.NO_VALUE;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    public void put(Parcel parcel) {
+        put(parcel.getTrackingNumber(), new Entry(
+                parcel.getStatus(),
+                parcel.getZoneCode(),
+                parcel.getRouteNumber(),
+                parcel.getScannedAt(),
+                parcel.getScannedBy()));
+    }
+
+    public void put(ParcelSnapshot snapshot) {
+        put(snapshot.trackingNumber(), Entry.of(snapshot));
+    }
+
+    /**
+     * Records a successful scan for an indexed parcel. Unknown tracking numbers are ignored.
+     */
+    public void markScanned(String trackingNumber, Instant scannedAt, String scannedBy) {
+        if (!TrackingNumberCodec.encodable(trackingNumber)) {
+            uncompressed.computeIfPresent(trackingNumber, (key, entry) -> new Entry(
+                    ParcelStatus.SCANNED,
+                    entry.zoneCode(),
+                    entry.routeNumber(),
+                    scannedAt,
+                    scannedBy));
+            return;
+        }
+        long high = TrackingNumberCodec.high(trackingNumber);
+        long low = TrackingNumberCodec.low(trackingNumber);
+        long stamp = lock.writeLock();
+        try {
+            int row = table.get(high, low);
+            if (row == TrackingNumberTable.NO_VALUE) return;
+            statuses[row] = (byte) ParcelStatus.SCANNED.ordinal();
+            this.scannedAt[row] = toNanos(scannedAt);
+            scanners[row] = scannerIds.id(scannedBy);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Records a lifecycle transition for an indexed parcel; the scan fields stay as they are.
+     */
+    public void markStatus(String trackingNumber, ParcelStatus status) {
+        if (!TrackingNumberCodec.encodable(trackingNumber)) {
+            uncompressed.computeIfPresent(trackingNumber, (key, entry) -> new Entry(
+                    status,
+                    entry.zoneCode(),
+                    entry.routeNumber(),
+                    entry.scannedAt(),
+                    entry.scannedBy()));
+            return;
+        }
+        long high = TrackingNumberCodec.high(trackingNumber);
+        long low = TrackingNumberCodec.low(trackingNumber);
+        long stamp = lock.writeLock();
+        try {
+            int row = table.get(high, low);
+            if (row != TrackingNumberTable.NO_VALUE) {
+                statuses[row] = (byte) status.ordinal();
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public void evict(String trackingNumber) {
+        if (!TrackingNumberCodec.encodable(trackingNumber)) {
+            if (uncompressed.remove(trackingNumber) != null) {
+                evictions.increment();
+            }
+            return;
+        }
+        long high = TrackingNumberCodec.high(trackingNumber);
+        long low = TrackingNumberCodec.low(trackingNumber);
+        long stamp = lock.writeLock();
+        try {
+            int row = table.remove(high, low);
+            if (row == TrackingNumberTable.NO_VALUE) return;
+            if (freeCount == freeRows.length) {
+                freeRows = Arrays.copyOf(freeRows, freeCount * 2);
+            }
+            freeRows[freeCount++] = row;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        evictions.increment();
+    }
+
+    /**
+     * Visits every indexed parcel under the read lock; {@code action} must not modify the index.
+     */
+    public void forEach(BiConsumer<String, Entry> action) {
+        long stamp = lock.readLock();
+        try {
+            table.forEach((high, low, row) -> action.accept(TrackingNumberCodec.decode(high, low), entryAt(row)));
+        } finally {
+            lock.unlockRead(stamp);
+        }
+        uncompressed.forEach(action);
+    }
+
+    public void clear() {
+        long stamp = lock.writeLock();
+        try {
+            evictions.add(table.size());
+            table.clear();
+            rows = 0;
+            freeCount = 0;
+            zoneCodes.clear();
+            routeNumbers.clear();
+            scannerIds.clear();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        evictions.add(uncompressed.size());
+        uncompressed.clear();
+    }
+
+    /**
+     * Reloads the whole index from the {@code parcels} table.
+     * Triggered automatically once the application is ready, before anything built on top of the index.
+     */
+    @Transactional
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void rebuild() {
+        clear();
+        try (Stream<ParcelSnapshot> snapshots = parcelRepository.streamAllSnapshots()) {
+            snapshots.forEach(this::put);
+        }
+        IndexStats stats = stats();
+        log.info("Parcel index rebuilt with {} entries ({} not packed), ~{} MB",
+                stats.getSize(), stats.getUncompressed(), stats.getFootprintBytes() >> 20);
+    }
+
+    public IndexStats stats() {
+        long size;
+        long footprint;
+        long stamp = lock.readLock();
+        try {
+            size = table.size();
+            footprint = table.footprintBytes()
+                    + (long) statuses.length * (Byte.BYTES + 3 * Integer.BYTES + Long.BYTES)
+                    + (long) freeRows.length * Integer.BYTES;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+        int notPacked = uncompressed.size();
+        return new IndexStats(size + notPacked, hits.sum(), misses.sum(), evictions.sum(), notPacked, footprint);
+    }
+
+    private Entry find(String trackingNumber) {
+        if (!TrackingNumberCodec.encodable(trackingNumber)) {
+            return uncompressed.get(trackingNumber);
+        }
+        long high = TrackingNumberCodec.high(trackingNumber);
+        long low = TrackingNumberCodec.low(trackingNumber);
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0) {
+            try {
+                int row = table.get(high, low);
+                Entry entry = row == TrackingNumberTable.NO_VALUE ? null : entryAt(row);
+                if (lock.validate(stamp)) return entry;
+            } catch (RuntimeException e) {
+                // Torn read during a concurrent write — repeated under the read lock
+            }
+        }
+        stamp = lock.readLock();
+        try {
+            int row = table.get(high, low);
+            return row == TrackingNumberTable.NO_VALUE ? null : entryAt(row);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private void put(String trackingNumber, Entry entry) {
+        if (!TrackingNumberCodec.encodable(trackingNumber)) {
+            uncompressed.put(trackingNumber, entry);
+            return;
+        }
+        long high = TrackingNumberCodec.high(trackingNumber);
+        long low = TrackingNumberCodec.low(trackingNumber);
+        long stamp = lock.writeLock();
+        try {
+            int row = table.get(high, low);
+            if (row == TrackingNumberTable.NO_VALUE) {
+                row = allocateRow();
+                table.put(high, low, row);
+            }
+            statuses[row] = (byte) entry.status().ordinal();
+            zones[row] = zoneCodes.id(entry.zoneCode());
+            routes[row] = routeNumbers.id(entry.routeNumber());
+            scanners[row] = scannerIds.id(entry.scannedBy());
+            scannedAt[row] = toNanos(entry.scannedAt());
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    private int allocateRow() {
+        if (freeCount > 0) return freeRows[--freeCount];
+        if (rows == statuses.length) {
+            int capacity = rows * 2;
+            statuses = Arrays.copyOf(statuses, capacity);
+            zones = Arrays.copyOf(zones, capacity);
+            routes = Arrays.copyOf(routes, capacity);
+            scanners = Arrays.copyOf(scanners, capacity);
+            scannedAt = Arrays.copyOf(scannedAt, capacity);
+        }
+        return rows++;
+    }
+
+    private Entry entryAt(int row) {
+        long nanos = scannedAt[row];
+        return new Entry(
+                STATUSES[statuses[row]],
+                zoneCodes.value(zones[row]),
+                routeNumbers.value(routes[row]),
+                nanos == NO_TIME ? null : Instant.ofEpochSecond(0, nanos),
+                scannerIds.value(scanners[row]));
+    }
+
+    /**
+     * Epoch nanos cover the years 1677..2262, which is plenty for scan times.
+     */
+    private static long toNanos(Instant instant) {
+        return instant == null ? NO_TIME : instant.getEpochSecond() * 1_000_000_000L + instant.getNano();
+    }
+}
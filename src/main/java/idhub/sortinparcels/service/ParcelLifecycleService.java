@@ -0,0 +1,176 @@
+package idhub.sortinparcels.service;
+
+import idhub.sortinparcels.dto.AuditEvent;
+import idhub.sortinparcels.dto.InvalidTransition;
+import idhub.sortinparcels.dto.ParcelSnapshot;
+import idhub.sortinparcels.dto.TransitionRequest;
+import idhub.sortinparcels.dto.TransitionResult;
+import idhub.sortinparcels.enums.ParcelStatus;
+import idhub.sortinparcels.exceptions.InvalidTransitionRequestException;
+import idhub.sortinparcels.repository.ParcelRepository;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static idhub.sortinparcels.utils.TransactionUtil.afterCommit;
+
+/**
+ * Bulk lifecycle transitions ({@code LOADED}, {@code DELIVERED}, {@code RETURNED}) validated against
+ * the transition table of {@link ParcelStatus}.
+ *
+ * <p>A transition is set-based: one {@code UPDATE ... WHERE <selector> AND status IN (<allowed sources>)}
+ * for a route or zone, or one per {@code IN (...)} batch for a list of parcels, followed by one SELECT of
+ * the rows it changed and a single batched audit write. Parcels are never loaded as entities.
+ *
+ * <p>Parcels selected but not allowed to move (e.g. still {@code PENDING} when the route is loaded) stay as
+ * they are and get an {@code INVALID_SCAN} audit. Parcels already in the target status are left alone silently,
+ * and so are parcels in a terminal status ({@code DELIVERED}) of a route or zone, so repeating a transition
+ * neither changes anything nor writes the same audit rows again. {@code SCANNED} is reached only by scanning, never in bulk.
+ */
+@Service
+@RequiredArgsConstructor
+public class ParcelLifecycleService {
+
+    private static final Set<ParcelStatus> BULK_TARGETS =
+            EnumSet.of(ParcelStatus.LOADED, ParcelStatus.DELIVERED, ParcelStatus.RETURNED);
+
+    /**
+     * Max number of bind parameters in one {@code IN (...)} transition.
+     */
+    private static final int TRANSITION_BATCH = 1000;
+
+    private final ParcelRepository parcelRepository;
+    private final AuditWriter auditWriter;
+    private final ParcelIndex parcelIndex;
+    private final SortPlan sortPlan;
+    private final ParcelCaches parcelCaches;
+    private final ProgressBroadcaster progressBroadcaster;
+
+    @Transactional
+    public TransitionResult transition(TransitionRequest request) {
+        validate(request);
+        ParcelStatus target = request.getTargetStatus();
+        Set<ParcelStatus> sources = ParcelStatus.sourcesOf(target);
+        // Stored in updatedAt and used to find the changed rows; truncated to the column precision
+        Instant changedAt = Instant.now().truncatedTo(ChronoUnit.MICROS);
+
+        List<ParcelSnapshot> changed = new ArrayList<>();
+        List<ParcelSnapshot> invalid = new ArrayList<>();
+        List<String> notFound = new ArrayList<>();
+
+        if (request.getTrackingNumbers() != null && !request.getTrackingNumbers().isEmpty()) {
+            List<String> batch = new ArrayList<>(TRANSITION_BATCH);
+            for (String trackingNumber : new LinkedHashSet<>(request.getTrackingNumbers())) {
+                batch.add(trackingNumber);
+                if (batch.size() == TRANSITION_BATCH) {
+                    transitionBatch(batch, sources, target, changedAt, changed, invalid, notFound);
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                transitionBatch(batch, sources, target, changedAt, changed, invalid, notFound);
+            }
+        } else {
+            String route = request.getRouteNumber();
+            String zone = request.getZoneCode();
+            // Parcels that are done (DELIVERED) are not reported again on every re-run of a route transition
+            Set<ParcelStatus> unchanged = EnumSet.copyOf(sources);
+            unchanged.add(target);
+            for (ParcelStatus status : ParcelStatus.values()) {
+                if (status.isTerminal()) unchanged.add(status);
+            }
+            parcelRepository.transitionRoute(route, zone, sources, target, changedAt);
+            changed.addAll(parcelRepository.findChangedInRoute(route, zone, target, changedAt));
+            invalid.addAll(parcelRepository.findInRouteWithStatusNotIn(route, zone, unchanged));
+        }
+
+        writeAudit(request, target, changedAt, changed, invalid);
+        afterCommit(() -> applyInMemory(target, changed));
+
+        return new TransitionResult(target, changed.size(),
+                invalid.stream().map(parcel -> new InvalidTransition(parcel.trackingNumber(), parcel.status())).toList(),
+                notFound);
+    }
+
+    private void transitionBatch(List<String> trackingNumbers, Set<ParcelStatus> sources, ParcelStatus target,
+                                 Instant changedAt, List<ParcelSnapshot> changed,
+                                 List<ParcelSnapshot> invalid, List<String> notFound) {
+        Map<String, ParcelSnapshot> current = new HashMap<>();
+        parcelRepository.findSnapshotsByTrackingNumberIn(trackingNumbers)
+                .forEach(snapshot -> current.put(snapshot.trackingNumber(), snapshot));
+
+        List<String> eligible = new ArrayList<>(trackingNumbers.size());
+        for (String trackingNumber : trackingNumbers) {
+            ParcelSnapshot snapshot = current.get(trackingNumber);
+            if (snapshot == null) {
+                notFound.add(trackingNumber);
+            } else if (sources.contains(snapshot.status())) {
+                eligible.add(trackingNumber);
+            } else if (snapshot.status() != target) {
+                invalid.add(snapshot);
+            }
+        }
+        if (eligible.isEmpty()) return;
+
+        // The status condition is re-checked by the UPDATE, so a concurrent change is never overwritten
+        parcelRepository.transitionTrackingNumbers(eligible, sources, target, changedAt);
+        changed.addAll(parcelRepository.findChangedByTrackingNumberIn(eligible, target, changedAt));
+    }
+
+    private void writeAudit(TransitionRequest request, ParcelStatus target, Instant changedAt,
+                            List<ParcelSnapshot> changed, List<ParcelSnapshot> invalid) {
+        List<AuditEvent> events = new ArrayList<>(changed.size() + invalid.size());
+        for (ParcelSnapshot parcel : changed) {
+            events.add(AuditEvent.statusChanged(parcel.trackingNumber(), target,
+                    request.getChangedBy(), request.getSessionId(), changedAt));
+        }
+        for (ParcelSnapshot parcel : invalid) {
+            AuditEvent event = AuditEvent.invalidScan(parcel.trackingNumber(), request.getChangedBy(),
+                    request.getSessionId(), "cannot move from " + parcel.status() + " to " + target);
+            event.setScannedAt(changedAt);
+            events.add(event);
+        }
+        auditWriter.writeAll(events);
+    }
+
+    private void applyInMemory(ParcelStatus target, List<ParcelSnapshot> changed) {
+        if (changed.isEmpty()) return;
+        Map<String, Long> perRoute = new HashMap<>();
+        List<String> trackingNumbers = new ArrayList<>(changed.size());
+        for (ParcelSnapshot parcel : changed) {
+            parcelIndex.markStatus(parcel.trackingNumber(), target);
+            perRoute.merge(parcel.routeNumber(), 1L, Long::sum);
+            trackingNumbers.add(parcel.trackingNumber());
+        }
+        if (target == ParcelStatus.RETURNED) {
+            perRoute.forEach(sortPlan::returnedToSorting);
+        }
+        parcelCaches.evictParcels(trackingNumbers);
+        parcelCaches.evictStatusCounts();
+        progressBroadcaster.routesChanged(List.copyOf(perRoute.keySet()));
+    }
+
+    private static void validate(TransitionRequest request) {
+        if (request.getTargetStatus() == null || !BULK_TARGETS.contains(request.getTargetStatus())) {
+            throw new InvalidTransitionRequestException(
+                    "Bulk transitions lead to " + BULK_TARGETS + "; SCANNED is reached by scanning only");
+        }
+        boolean byTrackingNumbers = request.getTrackingNumbers() != null && !request.getTrackingNumbers().isEmpty();
+        if (!byTrackingNumbers && request.getRouteNumber() == null) {
+            throw new InvalidTransitionRequestException("Either trackingNumbers or routeNumber is required");
+        }
+        if (request.getRouteNumber() == null && request.getZoneCode() != null) {
+            throw new InvalidTransitionRequestException("zoneCode is only valid together with routeNumber");
+        }
+    }
+}
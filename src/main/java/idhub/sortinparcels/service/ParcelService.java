@@ -1,7 +1,12 @@
 package idhub.sortinparcels.service;
 
 import idhub.sortinparcels.dto.AuditEvent;
+import idhub.sortinparcels.dto.CursorPage;
+import idhub.sortinparcels.dto.IndexStats;
 import idhub.sortinparcels.dto.ParcelExcelDto;
+import idhub.sortinparcels.dto.ParcelSnapshot;
+import idhub.sortinparcels.dto.ScanNotification;
+import idhub.sortinparcels.dto.ScanRequest;
 import idhub.sortinparcels.dto.ScanResponse;
 import idhub.sortinparcels.enums.ParcelStatus;
 import idhub.sortinparcels.exceptions.ParcelNotFoundException;
@@ -9,12 +14,28 @@ import idhub.sortinparcels.model.Parcel;
 import idhub.sortinparcels.model.ParcelAudit;
 import idhub.sortinparcels.repository.ParcelAuditRepository;
 import idhub.sortinparcels.repository.ParcelRepository;
+import jakarta.persistence.EntityManager;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static idhub.sortinparcels.utils.TransactionUtil.afterCommit;
 
 /**
  * Service layer responsible for processing parcel scanning operations
@@ -38,16 +59,58 @@ public class ParcelService {
 
     private final ParcelRepository parcelRepository;
     private final ParcelAuditRepository auditRepository;
+    private final ParcelIndex parcelIndex;
+    private final SortPlan sortPlan;
+    private final ProgressBroadcaster progressBroadcaster;
+    private final AuditWriter auditWriter;
+    private final AuditArchiveService auditArchiveService;
+    private final ScanMetrics scanMetrics;
+    private final ParcelCaches parcelCaches;
+    private final SessionAnalytics sessionAnalytics;
+    private final SortStations sortStations;
+    private final TrackingNumberFilter trackingNumberFilter;
+    private final EntityManager entityManager;
+
+    /**
+     * Max number of bind parameters in one {@code IN (...)} lookup (import dedup, batch scans).
+     */
+    private static final int DEDUP_LOOKUP_BATCH = 1000;
+
+    /**
+     * Upper bound for keyset page sizes.
+     */
+    public static final int MAX_PAGE_SIZE = 1000;
+
+    /**
+     * Parcels persisted per flush; matches {@code hibernate.jdbc.batch_size}.
+     */
+    private static final int IMPORT_FLUSH_BATCH = 500;
 
     @Transactional
     public int importParcelsFromDto(List<ParcelExcelDto> dtoList) {
+        long start = System.nanoTime();
 
-        // 1) Отримуємо усі існуючі трекінг-номери одним SQL
-        List<String> existing = parcelRepository.findAllTrackingNumbers();
+        // 1) Прибираємо дублікати у самому Excel (перший рядок з номером виграє)
+        Map<String, ParcelExcelDto> unique = new LinkedHashMap<>();
+        dtoList.forEach(dto -> unique.putIfAbsent(dto.getTrackingNumber(), dto));
+
+        // 2) Шукаємо в БД тільки номери з цього файлу — пачками по індексу tracking_number,
+        //    тож вартість залежить від розміру файлу, а не від розміру таблиці.
+        //    Номери з індексу вже точно є; номери, яких фільтр Блума точно не знає, нові —
+        //    в обох випадках запит не потрібен
+        Set<String> existing = new HashSet<>();
+        List<String> unknown = new ArrayList<>();
+        for (String trackingNumber : unique.keySet()) {
+            if (parcelIndex.contains(trackingNumber)) {
+                existing.add(trackingNumber);
+            } else if (trackingNumberFilter.mightExist(trackingNumber)) {
+                unknown.add(trackingNumber);
+            }
+        }
+        existing.addAll(findExistingTrackingNumbers(unknown));
 
-        // 2) Фільтруємо дублі як з БД, так і дублікати у самому Excel
-        List<Parcel> newParcels = dtoList.stream()
-                .distinct() // захист від дубля в Excel
+        // 3) Фільтруємо дублі з БД через HashSet — O(1) на рядок
+        List<Parcel> newParcels = unique.values().stream()
                 .filter(dto -> !existing.contains(dto.getTrackingNumber()))
                 .map(dto -> new Parcel(
                         dto.getTrackingNumber(),
@@ -55,12 +118,59 @@ public class ParcelService {
                         dto.getRouteNumber(),
                         ParcelStatus.PENDING))
                 .toList();
+        List<String> newTrackingNumbers = newParcels.stream().map(Parcel::getTrackingNumber).toList();
+        trackingNumberFilter.putAll(newTrackingNumbers);
 
-        parcelRepository.saveAll(newParcels);
-        parcelRepository.flush(); //Скидає всі зміни, що очікують на внесення, до бази даних.
+        // Пишемо пачками по batch_size: кожен flush — один JDBC batch INSERT,
+        // clear() не дає persistence context роздутися на великих файлах
+        for (int from = 0; from < newParcels.size(); from += IMPORT_FLUSH_BATCH) {
+            parcelRepository.saveAll(newParcels.subList(from, Math.min(from + IMPORT_FLUSH_BATCH, newParcels.size())));
+            parcelRepository.flush(); //Скидає всі зміни, що очікують на внесення, до бази даних.
+            entityManager.clear();
+        }
+
+        // 4) Прогріваємо in-memory індекс і план сортування після коміту
+        afterCommit(() -> {
+            newParcels.forEach(parcelIndex::put);
+            trackingNumberFilter.putAll(newTrackingNumbers);
+            sortPlan.addAll(newParcels);
+            progressBroadcaster.routesChanged(newParcels.stream().map(Parcel::getRouteNumber).distinct().toList());
+            scanMetrics.recordImport(newParcels.size(), System.nanoTime() - start);
+            if (!newParcels.isEmpty()) parcelCaches.evictStatusCounts();
+        });
         return newParcels.size();
     }
 
+    private Set<String> findExistingTrackingNumbers(Collection<String> trackingNumbers) {
+        Set<String> existing = new HashSet<>();
+        inLookupBatches(trackingNumbers, batch -> existing.addAll(parcelRepository.findExistingTrackingNumbers(batch)));
+        return existing;
+    }
+
+    private Map<String, ParcelSnapshot> findSnapshotsByTrackingNumbers(Collection<String> trackingNumbers) {
+        Map<String, ParcelSnapshot> parcels = new HashMap<>();
+        inLookupBatches(trackingNumbers, batch -> parcelRepository.findSnapshotsByTrackingNumberIn(batch)
+                .forEach(parcel -> parcels.put(parcel.trackingNumber(), parcel)));
+        return parcels;
+    }
+
+    /**
+     * Splits tracking numbers into {@code IN (...)}-sized batches.
+     */
+    private static void inLookupBatches(Collection<String> trackingNumbers, Consumer<List<String>> lookup) {
+        List<String> batch = new ArrayList<>(DEDUP_LOOKUP_BATCH);
+        for (String trackingNumber : trackingNumbers) {
+            batch.add(trackingNumber);
+            if (batch.size() == DEDUP_LOOKUP_BATCH) {
+                lookup.accept(batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            lookup.accept(batch);
+        }
+    }
+
     /**
      * Performs a scanning action for a parcel identified by its tracking number.
      *
@@ -74,40 +184,352 @@ public class ParcelService {
      * <p>In both cases, an audit event is recorded to maintain full traceability
      * of sorting operations and employee or device actions.
      *
+     * <p>The parcel is resolved from {@link ParcelIndex} first; the database is queried only on an index miss.
+     *
+     * <p>Safe under concurrent scans of the same parcel (e.g. two belt readers): the status change is a
+     * conditional {@code UPDATE ... WHERE status IN ('PENDING', 'RETURNED')}, so the first scan wins and every
+     * later one is recorded as {@code REPEATED_SCAN} — no read-modify-write and no optimistic-lock failures.
+     *
+     * <p>An unknown tracking number is answered with a {@code NOT_FOUND} response, never with an exception:
+     * right away when {@link TrackingNumberFilter} has definitely never seen it, after the database lookup
+     * when the filter let it through (a false positive), so clients see one reply whatever the filter state.
+     *
      * @param trackingNumber Unique parcel identifier printed on the shipping label.
      * @param scannedBy      Identifier of the scanning device or employee (e.g. scanner ID, username).
      * @param sessionId      Unique identifier used to group scan events within the same workflow or shift.
-     * @return {@link ScanResponse} describing the result of the scan (new scan or repeated scan).
-     * @throws ParcelNotFoundException If no parcel is found matching the provided tracking number.
+     * @return {@link ScanResponse} describing the result of the scan (new, repeated or {@code NOT_FOUND}).
      */
     @Transactional
-    public ScanResponse scanParcel(String trackingNumber, String scannedBy, String sessionId)
-            throws ParcelNotFoundException {
-        Parcel parcel = parcelRepository.findByTrackingNumber(trackingNumber)
-                .orElseThrow(() -> new ParcelNotFoundException(trackingNumber));
+    public ScanResponse scanParcel(String trackingNumber, String scannedBy, String sessionId) {
+        return scanParcel(trackingNumber, scannedBy, sessionId, null);
+    }
+
+    /**
+     * Same as {@link #scanParcel(String, String, String)}, but checked against the routes and zones of the
+     * sort station the parcel is scanned at. A parcel of another route is neither scanned nor changed:
+     * the read is audited as {@code INVALID_SCAN} and a {@code MISROUTED} response names the parcel's route.
+     * The check uses the route and zone already resolved for the scan and the in-memory {@link SortStations}
+     * map, so it adds no query.
+     *
+     * @param stationId Sort station of the scanner; {@code null} skips the misroute check.
+     * @throws idhub.sortinparcels.exceptions.StationNotFoundException If the station has no routes assigned.
+     */
+    @Transactional
+    public ScanResponse scanParcel(String trackingNumber, String scannedBy, String sessionId, String stationId) {
+        if (stationId != null) {
+            sortStations.requireStation(stationId);
+        }
+        long start = System.nanoTime();
+        ParcelIndex.Entry indexed = parcelIndex.lookup(trackingNumber).orElse(null);
+        if (indexed == null) {
+            // Unknown barcode (garbage read, other hub) — answered without a query and without an exception
+            if (trackingNumberFilter.rejects(trackingNumber)) {
+                scanMetrics.recordLookup(System.nanoTime() - start);
+                scanMetrics.countNotFound();
+                return ScanResponse.notFound(trackingNumber);
+            }
+            // Index miss — fall back to the database and warm the index with the result
+            ParcelSnapshot snapshot = parcelRepository.findSnapshotByTrackingNumber(trackingNumber).orElse(null);
+            if (snapshot == null) {
+                scanMetrics.recordLookup(System.nanoTime() - start);
+                scanMetrics.countNotFound();
+                trackingNumberFilter.countFalsePositive();
+                return ScanResponse.notFound(trackingNumber);
+            }
+            afterCommit(() -> parcelIndex.put(snapshot));
+            indexed = ParcelIndex.Entry.of(snapshot);
+        }
+        scanMetrics.recordLookup(System.nanoTime() - start);
+
+        String misrouteReason = stationId == null ? null
+                : sortStations.misrouteReason(stationId, indexed.routeNumber(), indexed.zoneCode());
+        ScanResponse response = misrouteReason != null
+                ? misroutedScan(trackingNumber, indexed, scannedBy, sessionId, misrouteReason)
+                : scanResolved(trackingNumber, indexed, scannedBy, sessionId);
+
+        // Total latency includes the commit, so it is recorded once the transaction is done
+        ParcelIndex.Entry resolved = indexed;
+        afterCommit(() -> scanMetrics.recordScan(System.nanoTime() - start,
+                resolved.routeNumber(), resolved.zoneCode()));
+        return response;
+    }
 
+    /**
+     * Scan of a parcel whose state is already known (from the index or a snapshot query):
+     * the route and the repeated-scan decision need no entity load.
+     * Only {@code PENDING} and {@code RETURNED} parcels move to {@code SCANNED}; a loaded or delivered
+     * parcel is left as it is and the read is audited as {@code INVALID_SCAN}.
+     */
+    private ScanResponse scanResolved(String trackingNumber, ParcelIndex.Entry known,
+                                      String scannedBy, String sessionId) {
         // Avoid re-scan of an already scanned parcel
-        if (parcel.getStatus() == ParcelStatus.SCANNED) {
-            auditRepository.save(
-                    AuditEvent.repeatedScan(parcel, scannedBy, sessionId).toEntity()
-            );
-            return ScanResponse.alreadyScanned(
-                    parcel.getScannedAt(),
-                    parcel.getScannedBy(),
-                    parcel.getRouteNumber()
-            );
+        if (known.status() == ParcelStatus.SCANNED) {
+            return repeatedScan(trackingNumber, known, scannedBy, sessionId);
+        }
+        if (!known.status().canTransitionTo(ParcelStatus.SCANNED)) {
+            return invalidScan(trackingNumber, known, scannedBy, sessionId);
         }
 
-        parcel.setStatus(ParcelStatus.SCANNED); // indicates that the parcel has been scanned.
-        parcel.setScannedAt(Instant.now()); //records the exact time of scanning.
-        parcel.setScannedBy(scannedBy); //records who scanned.
-        parcel.setUpdatedAt(Instant.now()); //updates the last modification time to track changes.
-        parcelRepository.save(parcel); //saves changes to the DB.
+        long updateStart = System.nanoTime();
+        Instant scannedAt = Instant.now();
+        int updated = parcelRepository.markScanned(trackingNumber, ParcelStatus.sourcesOf(ParcelStatus.SCANNED),
+                scannedAt, scannedBy);
+        scanMetrics.recordUpdate(System.nanoTime() - updateStart);
+
+        if (updated == 0) {
+            // Lost the race to a concurrent scan or transition, or the row was removed behind the index's back
+            ParcelSnapshot current = parcelRepository.findSnapshotByTrackingNumber(trackingNumber).orElse(null);
+            if (current == null) {
+                parcelIndex.evict(trackingNumber);
+                scanMetrics.countNotFound();
+                return ScanResponse.notFound(trackingNumber);
+            }
+            afterCommit(() -> parcelIndex.put(current));
+            ParcelIndex.Entry entry = ParcelIndex.Entry.of(current);
+            return current.status() == ParcelStatus.SCANNED
+                    ? repeatedScan(trackingNumber, entry, scannedBy, sessionId)
+                    : invalidScan(trackingNumber, entry, scannedBy, sessionId);
+        }
+        afterCommit(() -> {
+            parcelIndex.markScanned(trackingNumber, scannedAt, scannedBy);
+            sortPlan.markScanned(known.routeNumber());
+            parcelCaches.evictParcel(trackingNumber);
+            parcelCaches.evictStatusCounts();
+        });
 
         // Persist audit for success scan
-        auditRepository.save(AuditEvent.successScan(parcel, scannedBy, sessionId)
-                .toEntity());
-        return ScanResponse.success(parcel.getRouteNumber());
+        writeAudit(AuditEvent.successScan(trackingNumber, scannedBy, sessionId), known.routeNumber());
+        return ScanResponse.success(known.routeNumber());
+    }
+
+    private ScanResponse repeatedScan(String trackingNumber, ParcelIndex.Entry scanned,
+                                      String scannedBy, String sessionId) {
+        writeAudit(AuditEvent.repeatedScan(trackingNumber, scannedBy, sessionId), scanned.routeNumber());
+        return ScanResponse.alreadyScanned(
+                scanned.scannedAt(),
+                scanned.scannedBy(),
+                scanned.routeNumber()
+        );
+    }
+
+    private ScanResponse misroutedScan(String trackingNumber, ParcelIndex.Entry known,
+                                       String scannedBy, String sessionId, String reason) {
+        scanMetrics.countMisrouted();
+        writeAudit(AuditEvent.invalidScan(trackingNumber, scannedBy, sessionId, reason), known.routeNumber());
+        return ScanResponse.misrouted(known.routeNumber(), reason);
+    }
+
+    private ScanResponse invalidScan(String trackingNumber, ParcelIndex.Entry known,
+                                     String scannedBy, String sessionId) {
+        String reason = invalidScanReason(known.status());
+        writeAudit(AuditEvent.invalidScan(trackingNumber, scannedBy, sessionId, reason), known.routeNumber());
+        return invalidScanResponse(known.status(), reason);
+    }
+
+    private static String invalidScanReason(ParcelStatus status) {
+        return "cannot move from " + status + " to " + ParcelStatus.SCANNED;
+    }
+
+    private static ScanResponse invalidScanResponse(ParcelStatus status, String reason) {
+        return status == ParcelStatus.DELIVERED ? ScanResponse.alreadyDelivered() : ScanResponse.failure(reason);
+    }
+
+    private void writeAudit(AuditEvent event, String routeNumber) {
+        long start = System.nanoTime();
+        auditWriter.write(event);
+        scanMetrics.recordAudit(System.nanoTime() - start);
+        afterCommit(() -> progressBroadcaster.scanned(ScanNotification.of(event, routeNumber)));
+    }
+
+    /**
+     * Applies a batch of buffered scanner reads in one transaction.
+     *
+     * <p>All tracking numbers are resolved with {@code IN (...)} snapshot lookups instead of one SELECT per read,
+     * and audit rows are written as one batch.
+     * Each read keeps its own {@code scannedAt}/{@code scannedBy}/{@code sessionId}.
+     * Reads are applied in the given order, so a parcel read twice in the batch yields
+     * a successful scan followed by a repeated scan.
+     *
+     * <p>Unknown tracking numbers do not abort the batch: they get a {@code NOT_FOUND} response.
+     * Numbers rejected by {@link TrackingNumberFilter} are not even part of the {@code IN (...)} lookup.
+     * Loaded or delivered parcels are not re-scanned; they get an {@code INVALID_SCAN} audit instead.
+     * Reads that carry a {@code stationId} are checked for misroutes exactly like single scans.
+     *
+     * <p>Parcels are claimed with conditional set UPDATEs ({@link ParcelRepository#markScannedIn}), one per
+     * {@code scannedAt}/{@code scannedBy} pair, and the claimed rows are read back as {@code ParcelLifecycleService}
+     * does. A parcel scanned concurrently by someone else is simply not claimed: its reads are answered from the
+     * row as the other scan left it, usually as repeated scans, and the rest of the batch goes through.
+     *
+     * @param requests Buffered scanner reads.
+     * @return One {@link ScanResponse} per request, in request order.
+     */
+    @Transactional
+    public List<ScanResponse> scanParcels(List<ScanRequest> requests) {
+        Set<String> trackingNumbers = new LinkedHashSet<>();
+        for (ScanRequest request : requests) {
+            trackingNumbers.add(request.getTrackingNumber());
+            if (request.getStationId() != null) {
+                sortStations.requireStation(request.getStationId());
+            }
+        }
+        trackingNumbers.removeIf(trackingNumberFilter::rejects);
+        Map<String, ParcelSnapshot> parcels = findSnapshotsByTrackingNumbers(trackingNumbers);
+        trackingNumbers.stream()
+                .filter(trackingNumber -> !parcels.containsKey(trackingNumber))
+                .forEach(trackingNumber -> trackingNumberFilter.countFalsePositive());
+
+        // Reads without a device time share one server time, so their claims collapse into a single UPDATE
+        Instant now = Instant.now();
+        Map<String, ScanRequest> claims = selectClaims(requests, parcels);
+        Set<String> claimed = claim(claims, now);
+        List<String> removed = refreshLost(claims.keySet(), claimed, parcels);
+
+        List<ScanResponse> responses = new ArrayList<>(requests.size());
+        List<AuditEvent> auditEvents = new ArrayList<>(requests.size());
+        List<String> scannedRoutes = new ArrayList<>();
+        List<String> scannedTrackingNumbers = new ArrayList<>();
+        List<ScanNotification> notifications = new ArrayList<>(requests.size());
+
+        for (ScanRequest request : requests) {
+            String trackingNumber = request.getTrackingNumber();
+            ParcelSnapshot parcel = parcels.get(trackingNumber);
+            if (parcel == null) {
+                scanMetrics.countNotFound();
+                responses.add(ScanResponse.notFound(trackingNumber));
+                continue;
+            }
+
+            Instant scannedAt = scannedAtOf(request, now);
+            String misrouteReason = misrouteReason(request, parcel);
+            AuditEvent auditEvent;
+            if (misrouteReason != null) {
+                scanMetrics.countMisrouted();
+                auditEvent = AuditEvent.invalidScan(trackingNumber, request.getScannedBy(), request.getSessionId(),
+                        misrouteReason);
+                responses.add(ScanResponse.misrouted(parcel.routeNumber(), misrouteReason));
+            } else if (parcel.status() == ParcelStatus.SCANNED) {
+                auditEvent = AuditEvent.repeatedScan(trackingNumber, request.getScannedBy(), request.getSessionId());
+                responses.add(ScanResponse.alreadyScanned(
+                        parcel.scannedAt(),
+                        parcel.scannedBy(),
+                        parcel.routeNumber()));
+            } else if (claims.get(trackingNumber) == request && claimed.contains(trackingNumber)) {
+                parcel = new ParcelSnapshot(trackingNumber, parcel.zoneCode(), parcel.routeNumber(),
+                        ParcelStatus.SCANNED, scannedAt, request.getScannedBy());
+                parcels.put(trackingNumber, parcel);
+                auditEvent = AuditEvent.successScan(trackingNumber, request.getScannedBy(), request.getSessionId());
+                scannedRoutes.add(parcel.routeNumber());
+                scannedTrackingNumbers.add(trackingNumber);
+                responses.add(ScanResponse.success(parcel.routeNumber()));
+            } else {
+                // Not claimable, or moved away and back between the UPDATE and the read-back of a lost claim
+                String reason = parcel.status().canTransitionTo(ParcelStatus.SCANNED)
+                        ? "parcel was changed concurrently, scan it again"
+                        : invalidScanReason(parcel.status());
+                auditEvent = AuditEvent.invalidScan(trackingNumber, request.getScannedBy(), request.getSessionId(),
+                        reason);
+                responses.add(invalidScanResponse(parcel.status(), reason));
+            }
+            auditEvent.setScannedAt(scannedAt); // keep the device time of the read
+            auditEvents.add(auditEvent);
+            notifications.add(ScanNotification.of(auditEvent, parcel.routeNumber()));
+        }
+
+        auditWriter.writeAll(auditEvents);
+        afterCommit(() -> {
+            removed.forEach(parcelIndex::evict);
+            parcels.values().forEach(parcelIndex::put);
+            scannedRoutes.forEach(sortPlan::markScanned);
+            notifications.forEach(progressBroadcaster::scanned);
+            if (!scannedTrackingNumbers.isEmpty()) {
+                parcelCaches.evictParcels(scannedTrackingNumbers);
+                parcelCaches.evictStatusCounts();
+            }
+        });
+        return responses;
+    }
+
+    /**
+     * The read that should claim each parcel: the first one, in request order, that is not misrouted
+     * while the parcel still awaits sorting.
+     */
+    private Map<String, ScanRequest> selectClaims(List<ScanRequest> requests, Map<String, ParcelSnapshot> parcels) {
+        Set<ParcelStatus> sources = ParcelStatus.sourcesOf(ParcelStatus.SCANNED);
+        Map<String, ScanRequest> claims = new LinkedHashMap<>();
+        for (ScanRequest request : requests) {
+            ParcelSnapshot parcel = parcels.get(request.getTrackingNumber());
+            if (parcel != null && sources.contains(parcel.status())
+                    && !claims.containsKey(request.getTrackingNumber())
+                    && misrouteReason(request, parcel) == null) {
+                claims.put(request.getTrackingNumber(), request);
+            }
+        }
+        return claims;
+    }
+
+    /**
+     * Runs the conditional UPDATEs for the selected reads and returns the tracking numbers this transaction claimed.
+     */
+    private Set<String> claim(Map<String, ScanRequest> claims, Instant now) {
+        Set<String> claimed = new HashSet<>();
+        if (claims.isEmpty()) return claimed;
+
+        Set<ParcelStatus> sources = ParcelStatus.sourcesOf(ParcelStatus.SCANNED);
+        // Stored in updatedAt and used to find the claimed rows; truncated to the column precision
+        Instant changedAt = now.truncatedTo(ChronoUnit.MICROS);
+        Map<ScanClaim, List<String>> groups = new LinkedHashMap<>();
+        claims.forEach((trackingNumber, request) -> groups
+                .computeIfAbsent(new ScanClaim(scannedAtOf(request, now), request.getScannedBy()),
+                        key -> new ArrayList<>())
+                .add(trackingNumber));
+
+        long updateStart = System.nanoTime();
+        groups.forEach((group, groupTrackingNumbers) -> inLookupBatches(groupTrackingNumbers,
+                batch -> parcelRepository.markScannedIn(batch, sources, group.scannedAt(), group.scannedBy(),
+                        changedAt)));
+        scanMetrics.recordUpdate(System.nanoTime() - updateStart);
+
+        inLookupBatches(claims.keySet(), batch -> parcelRepository
+                .findChangedByTrackingNumberIn(batch, ParcelStatus.SCANNED, changedAt)
+                .forEach(parcel -> claimed.add(parcel.trackingNumber())));
+        return claimed;
+    }
+
+    /**
+     * Replaces the snapshots of parcels whose claim was lost to a concurrent scan or transition
+     * with their current state, and returns those that were removed in the meantime.
+     */
+    private List<String> refreshLost(Set<String> claims, Set<String> claimed, Map<String, ParcelSnapshot> parcels) {
+        List<String> lost = claims.stream().filter(trackingNumber -> !claimed.contains(trackingNumber)).toList();
+        if (lost.isEmpty()) return List.of();
+
+        Map<String, ParcelSnapshot> current = findSnapshotsByTrackingNumbers(lost);
+        List<String> removed = new ArrayList<>();
+        for (String trackingNumber : lost) {
+            ParcelSnapshot parcel = current.get(trackingNumber);
+            if (parcel == null) {
+                parcels.remove(trackingNumber);
+                removed.add(trackingNumber);
+            } else {
+                parcels.put(trackingNumber, parcel);
+            }
+        }
+        return removed;
+    }
+
+    private String misrouteReason(ScanRequest request, ParcelSnapshot parcel) {
+        return request.getStationId() == null ? null
+                : sortStations.misrouteReason(request.getStationId(), parcel.routeNumber(), parcel.zoneCode());
+    }
+
+    private static Instant scannedAtOf(ScanRequest request, Instant now) {
+        return request.getScannedAt() != null ? request.getScannedAt() : now;
+    }
+
+    /**
+     * Reads of a batch that can be claimed by one {@link ParcelRepository#markScannedIn} UPDATE.
+     */
+    private record ScanClaim(Instant scannedAt, String scannedBy) {
     }
 
     /**
@@ -124,17 +546,78 @@ public class ParcelService {
      * @return List of {@link ParcelAudit} entities matching the provided session ID.
      */
     public List<ParcelAudit> getScannedParcelsBySession(String sessionId) {
-        return auditRepository.findBySessionId(sessionId);
+        return auditRepository.findBySessionIdOrderByScannedAtAsc(sessionId);
+    }
+
+    /**
+     * Parcel lookup for customer-service and dashboard screens, served from the {@link ParcelCaches#PARCELS} cache.
+     * Scans evict the entry after commit; unknown tracking numbers are not cached, so imports need no eviction.
+     *
+     * @throws ParcelNotFoundException If no parcel is found matching the provided tracking number.
+     */
+    @Cacheable(cacheNames = ParcelCaches.PARCELS, key = "#trackingNumber")
+    public Parcel getParcel(String trackingNumber) {
+        return parcelRepository.findByTrackingNumber(trackingNumber)
+                .orElseThrow(() -> new ParcelNotFoundException(trackingNumber));
+    }
+
+    /**
+     * Number of parcels with the given status, cached for a few seconds
+     * and evicted by every scan or import that changes it.
+     */
+    @Cacheable(cacheNames = ParcelCaches.STATUS_COUNTS, key = "#status")
+    public long countByStatus(ParcelStatus status) {
+        return parcelRepository.countByStatus(status);
     }
 
-    public List<Parcel> getParcelsByStatus(ParcelStatus status) {
-        return parcelRepository.findByStatus(status);
+    /**
+     * Keyset page of parcels with the given status, ordered by id.
+     *
+     * @param afterId Cursor returned with the previous page (0 for the first page).
+     * @param limit   Page size, capped at {@link #MAX_PAGE_SIZE}.
+     */
+    public CursorPage<Parcel> getParcelsByStatus(ParcelStatus status, long afterId, int limit) {
+        int pageSize = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        List<Parcel> parcels = parcelRepository.findByStatusAndIdGreaterThanOrderByIdAsc(
+                status, afterId, Limit.of(pageSize));
+        Long lastId = parcels.isEmpty() ? null : parcels.get(parcels.size() - 1).getId();
+        return CursorPage.of(parcels, lastId, pageSize);
+    }
+
+    /**
+     * Pushes every parcel with the given status to {@code sink} as it comes off the JDBC cursor.
+     * Rows are detached right after use, so the persistence context stays empty.
+     */
+    @Transactional
+    public void streamParcelsByStatus(ParcelStatus status, Consumer<? super Parcel> sink) {
+        try (Stream<Parcel> parcels = parcelRepository.streamByStatus(status)) {
+            parcels.forEach(parcel -> {
+                sink.accept(parcel);
+                entityManager.detach(parcel);
+            });
+        }
     }
 
 
     public void deleteAll() {
+        auditArchiveService.deleteAll();
         auditRepository.deleteAll();
         parcelRepository.deleteAll();
-        
+        parcelIndex.clear();
+        sortPlan.clear();
+        parcelCaches.clearAll();
+        sessionAnalytics.clear();
+        trackingNumberFilter.clear();
+    }
+
+    public IndexStats getIndexStats() {
+        return parcelIndex.stats();
+    }
+
+    public IndexStats rebuildIndex() {
+        parcelIndex.rebuild();
+        sortPlan.rebuild();
+        trackingNumberFilter.rebuild();
+        return parcelIndex.stats();
     }
 }
\ No newline at end of file
@@ -0,0 +1,156 @@
+package idhub.sortinparcels.service;
+
+import idhub.sortinparcels.dto.ProgressDelta;
+import idhub.sortinparcels.dto.RouteProgress;
+import idhub.sortinparcels.dto.ScanNotification;
+import idhub.sortinparcels.exceptions.RouteNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Pushes scan progress to dashboards over Server-Sent Events instead of letting them poll full parcel lists.
+ *
+ * <p>Producers ({@link ParcelService}) only append to a lock-free queue after their transaction commits.
+ * Every {@code parcel.push.flush-interval-ms} the queue is drained and each subscriber gets at most one
+ * {@code progress} event ({@link ProgressDelta}) with:
+ * <ul>
+ *     <li>the scans matching its filter, capped at {@code parcel.push.max-scans-per-delta} (latest win);</li>
+ *     <li>the latest counters of each changed route — a burst of 500 scans on one route is one counter update.</li>
+ * </ul>
+ *
+ * <p>Subscribers may filter by scanning session and/or route; no filter means everything.
+ */
+@Slf4j
+@Service
+public class ProgressBroadcaster {
+
+    private final SortPlan sortPlan;
+    private final long emitterTimeoutMs;
+    private final int maxScansPerDelta;
+
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final Queue<ScanNotification> pendingScans = new ConcurrentLinkedQueue<>();
+    private final Set<String> dirtyRoutes = ConcurrentHashMap.newKeySet();
+
+    public ProgressBroadcaster(SortPlan sortPlan,
+                               @Value("${parcel.push.emitter-timeout-ms:1800000}") long emitterTimeoutMs,
+                               @Value("${parcel.push.max-scans-per-delta:1000}") int maxScansPerDelta) {
+        this.sortPlan = sortPlan;
+        this.emitterTimeoutMs = emitterTimeoutMs;
+        this.maxScansPerDelta = maxScansPerDelta;
+    }
+
+    /**
+     * Dashboard subscription filter; {@code null} fields match everything.
+     */
+    private record Subscriber(SseEmitter emitter, String sessionId, String routeNumber) {
+
+        boolean accepts(ScanNotification scan) {
+            return (sessionId == null || sessionId.equals(scan.getSessionId()))
+                    && (routeNumber == null || routeNumber.equals(scan.getRouteNumber()));
+        }
+
+        boolean accepts(RouteProgress route) {
+            return routeNumber == null || routeNumber.equals(route.getRouteNumber());
+        }
+    }
+
+    /**
+     * Opens a subscription and immediately sends the current counters of the matching routes.
+     */
+    public SseEmitter subscribe(String sessionId, String routeNumber) {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        Subscriber subscriber = new Subscriber(emitter, sessionId, routeNumber);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+
+        List<RouteProgress> snapshot = sortPlan.progress().stream().filter(subscriber::accepts).toList();
+        if (send(subscriber, new ProgressDelta(List.of(), 0, snapshot))) {
+            subscribers.add(subscriber);
+        }
+        return emitter;
+    }
+
+    /**
+     * Records a committed scan; delivered with the next flush.
+     */
+    public void scanned(ScanNotification scan) {
+        if (subscribers.isEmpty()) return;
+        pendingScans.add(scan);
+        dirtyRoutes.add(scan.getRouteNumber());
+    }
+
+    /**
+     * Marks routes whose counters changed without a scan (e.g. after an import).
+     */
+    public void routesChanged(Collection<String> routeNumbers) {
+        if (subscribers.isEmpty()) return;
+        dirtyRoutes.addAll(routeNumbers);
+    }
+
+    @Scheduled(fixedDelayString = "${parcel.push.flush-interval-ms:250}")
+    public void flush() {
+        List<ScanNotification> scans = new ArrayList<>();
+        ScanNotification scan;
+        while ((scan = pendingScans.poll()) != null) {
+            scans.add(scan);
+        }
+        List<RouteProgress> routes = new ArrayList<>(dirtyRoutes.size());
+        for (String routeNumber : List.copyOf(dirtyRoutes)) {
+            dirtyRoutes.remove(routeNumber);
+            routes.add(progressOrNull(routeNumber));
+        }
+        routes.removeIf(Objects::isNull);
+        if (scans.isEmpty() && routes.isEmpty()) return;
+
+        for (Subscriber subscriber : subscribers) {
+            List<ScanNotification> matching = scans.stream().filter(subscriber::accepts).toList();
+            List<RouteProgress> matchingRoutes = routes.stream().filter(subscriber::accepts).toList();
+            if (matching.isEmpty() && matchingRoutes.isEmpty()) continue;
+
+            int skipped = Math.max(0, matching.size() - maxScansPerDelta);
+            send(subscriber, new ProgressDelta(matching.subList(skipped, matching.size()), skipped, matchingRoutes));
+        }
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    private RouteProgress progressOrNull(String routeNumber) {
+        try {
+            return sortPlan.progress(routeNumber);
+        } catch (RouteNotFoundException e) {
+            return null; // plan was cleared in the meantime
+        }
+    }
+
+    private boolean send(Subscriber subscriber, ProgressDelta delta) {
+        try {
+            subscriber.emitter().send(SseEmitter.event().name("progress").data(delta, MediaType.APPLICATION_JSON));
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            // Client went away — drop it; the emitter callbacks may not fire for a broken pipe
+            log.debug("Dropping progress subscriber", e);
+            subscribers.remove(subscriber);
+            subscriber.emitter().completeWithError(e);
+            return false;
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package idhub.sortinparcels.service;
+
+import idhub.sortinparcels.enums.AuditEventType;
+import idhub.sortinparcels.utils.LatencyHistogram;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histograms and counters of the scan and import pipeline.
+ *
+ * <p>Scan latency is split into stages so it is visible where time goes:
+ * <ul>
+ *     <li>{@code lookup} — resolving the parcel (in-memory index or database).</li>
+ *     <li>{@code update} — persisting the status change.</li>
+ *     <li>{@code audit} — handing the audit event to {@link AuditWriter}.</li>
+ *     <li>{@code total} — the whole scan.</li>
+ * </ul>
+ * Scans slower than {@code parcel.metrics.slow-scan-ms} are counted per route and zone.
+ */
+@Component
+public class ScanMetrics {
+
+    private final LatencyHistogram lookup = new LatencyHistogram();
+    private final LatencyHistogram update = new LatencyHistogram();
+    private final LatencyHistogram audit = new LatencyHistogram();
+    private final LatencyHistogram total = new LatencyHistogram();
+
+    private final Map<AuditEventType, LongAdder> events = new EnumMap<>(AuditEventType.class);
+    private final LongAdder notFound = new LongAdder();
+    private final LongAdder misrouted = new LongAdder();
+    private final Map<String, LongAdder> slowScans = new ConcurrentHashMap<>();
+    private final long slowScanNanos;
+
+    private final LongAdder importedRows = new LongAdder();
+    private final LongAdder importNanos = new LongAdder();
+    private volatile double lastImportRowsPerSecond;
+
+    public ScanMetrics(@Value("${parcel.metrics.slow-scan-ms:50}") long slowScanMs) {
+        this.slowScanNanos = TimeUnit.MILLISECONDS.toNanos(slowScanMs);
+        for (AuditEventType type : AuditEventType.values()) {
+            events.put(type, new LongAdder());
+        }
+    }
+
+    public void recordLookup(long nanos) {
+        lookup.record(nanos);
+    }
+
+    public void recordUpdate(long nanos) {
+        update.record(nanos);
+    }
+
+    public void recordAudit(long nanos) {
+        audit.record(nanos);
+    }
+
+    /**
+     * Records the end-to-end latency of one scan of a parcel on the given route and zone.
+     */
+    public void recordScan(long nanos, String routeNumber, String zoneCode) {
+        total.record(nanos);
+        if (nanos >= slowScanNanos) {
+            slowScans.computeIfAbsent("route=\"" + MetricsExporter.escapeLabelValue(routeNumber)
+                            + "\",zone=\"" + MetricsExporter.escapeLabelValue(zoneCode) + "\"",
+                    key -> new LongAdder()).increment();
+        }
+    }
+
+    public void countEvent(AuditEventType type) {
+        events.get(type).increment();
+    }
+
+    public void countNotFound() {
+        notFound.increment();
+    }
+
+    public void countMisrouted() {
+        misrouted.increment();
+    }
+
+    public void recordImport(int rows, long nanos) {
+        importedRows.add(rows);
+        importNanos.add(nanos);
+        if (nanos > 0) {
+            lastImportRowsPerSecond = rows * 1e9 / nanos;
+        }
+    }
+
+    public void writePrometheus(StringBuilder out) {
+        out.append("# HELP parcel_scan_latency_seconds Scan latency by stage\n");
+        out.append("# TYPE parcel_scan_latency_seconds histogram\n");
+        lookup.writePrometheus(out, "parcel_scan_latency_seconds", "stage=\"lookup\"");
+        update.writePrometheus(out, "parcel_scan_latency_seconds", "stage=\"update\"");
+        audit.writePrometheus(out, "parcel_scan_latency_seconds", "stage=\"audit\"");
+        total.writePrometheus(out, "parcel_scan_latency_seconds", "stage=\"total\"");
+
+        out.append("# HELP parcel_scan_latency_quantile_seconds Estimated p50/p99 scan latency by stage\n");
+        out.append("# TYPE parcel_scan_latency_quantile_seconds gauge\n");
+        writeQuantiles(out, "lookup", lookup);
+        writeQuantiles(out, "update", update);
+        writeQuantiles(out, "audit", audit);
+        writeQuantiles(out, "total", total);
+
+        out.append("# HELP parcel_scan_events_total Scan outcomes by audit event type\n");
+        out.append("# TYPE parcel_scan_events_total counter\n");
+        events.forEach((type, counter) -> out.append("parcel_scan_events_total{event=\"")
+                .append(type).append("\"} ").append(counter.sum()).append('\n'));
+        out.append("parcel_scan_events_total{event=\"NOT_FOUND\"} ").append(notFound.sum()).append('\n');
+
+        out.append("# HELP parcel_scan_misrouted_total Parcels scanned at a station that does not handle their route "
+                + "(also counted as INVALID_SCAN)\n");
+        out.append("# TYPE parcel_scan_misrouted_total counter\n");
+        out.append("parcel_scan_misrouted_total ").append(misrouted.sum()).append('\n');
+
+        out.append("# HELP parcel_scan_slow_total Scans slower than the slow-scan threshold by route and zone\n");
+        out.append("# TYPE parcel_scan_slow_total counter\n");
+        slowScans.forEach((labels, counter) -> out.append("parcel_scan_slow_total{")
+                .append(labels).append("} ").append(counter.sum()).append('\n'));
+
+        out.append("# HELP parcel_import_rows_total Parcels inserted by manifest imports\n");
+        out.append("# TYPE parcel_import_rows_total counter\n");
+        out.append("parcel_import_rows_total ").append(importedRows.sum()).append('\n');
+        out.append("# HELP parcel_import_seconds_total Time spent importing manifests\n");
+        out.append("# TYPE parcel_import_seconds_total counter\n");
+        out.append("parcel_import_seconds_total ").append(importNanos.sum() / 1e9).append('\n');
+        out.append("# HELP parcel_import_last_rows_per_second Throughput of the most recent import\n");
+        out.append("# TYPE parcel_import_last_rows_per_second gauge\n");
+        out.append("parcel_import_last_rows_per_second ").append(lastImportRowsPerSecond).append('\n');
+    }
+
+    private static void writeQuantiles(StringBuilder out, String stage, LatencyHistogram histogram) {
+        out.append("parcel_scan_latency_quantile_seconds{stage=\"").append(stage).append("\",quantile=\"0.5\"} ")
+                .append(histogram.quantileSeconds(0.5)).append('\n');
+        out.append("parcel_scan_latency_quantile_seconds{stage=\"").append(stage).append("\",quantile=\"0.99\"} ")
+                .append(histogram.quantileSeconds(0.99)).append('\n');
+    }
+}
@@ -0,0 +1,255 @@
+package idhub.sortinparcels.service;
+
+import idhub.sortinparcels.dto.AuditSnapshot;
+import idhub.sortinparcels.dto.MinuteThroughput;
+import idhub.sortinparcels.dto.ScannerSummary;
+import idhub.sortinparcels.dto.SessionSummary;
+import idhub.sortinparcels.enums.AuditEventType;
+import idhub.sortinparcels.exceptions.SessionNotFoundException;
+import idhub.sortinparcels.model.ParcelAudit;
+import idhub.sortinparcels.repository.ParcelAuditRepository;
+import jakarta.transaction.Transactional;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Rolling per-session and per-scanner scan statistics, kept up to date as audit events are written.
+ *
+ * <p>{@link AuditWriter} records every audit row once it is committed, so a shift report reads a handful of
+ * counters instead of pulling all {@code ParcelAudit} rows of the session: counts by {@link AuditEventType},
+ * first and last scan and events per minute. The cost of a summary depends on the number of scanners and
+ * minutes of the session, not on the number of scans.
+ *
+ * <p>Aggregates live in memory. They are rebuilt from the hot audit table on startup and dropped
+ * {@code parcel.analytics.retention-hours} after the last scan of the session.
+ */
+@Slf4j
+@Component
+public class SessionAnalytics {
+
+    private static final AuditEventType[] TYPES = AuditEventType.values();
+    private static final long MILLIS_PER_MINUTE = 60_000;
+
+    private final ParcelAuditRepository auditRepository;
+    private final Duration retention;
+
+    private final Map<String, SessionAggregate> sessions = new ConcurrentHashMap<>();
+
+    // Not a monitor: record() runs on request threads, which may be virtual
+    private final ReentrantLock replayLock = new ReentrantLock();
+    /**
+     * Highest audit id read by the last {@link #rebuild}; rows up to it are counted by the replay, not by {@code record}.
+     * Guarded by {@code replayLock}.
+     */
+    private long replayedUpTo;
+
+    public SessionAnalytics(ParcelAuditRepository auditRepository,
+                            @Value("${parcel.analytics.retention-hours:24}") long retentionHours) {
+        this.auditRepository = auditRepository;
+        this.retention = Duration.ofHours(retentionHours);
+    }
+
+    /**
+     * Event counters and scan time range of one session or one scanner.
+     */
+    private static class Aggregate {
+        final LongAdder[] events = new LongAdder[TYPES.length];
+        final AtomicLong firstScan = new AtomicLong(Long.MAX_VALUE);
+        final AtomicLong lastScan = new AtomicLong(Long.MIN_VALUE);
+
+        Aggregate() {
+            for (int i = 0; i < events.length; i++) {
+                events[i] = new LongAdder();
+            }
+        }
+
+        void record(AuditEventType type, long scannedAtMillis) {
+            events[type.ordinal()].increment();
+            firstScan.accumulateAndGet(scannedAtMillis, Math::min);
+            lastScan.accumulateAndGet(scannedAtMillis, Math::max);
+        }
+
+        long total() {
+            long total = 0;
+            for (LongAdder count : events) {
+                total += count.sum();
+            }
+            return total;
+        }
+
+        Map<AuditEventType, Long> eventCounts() {
+            Map<AuditEventType, Long> counts = new EnumMap<>(AuditEventType.class);
+            for (AuditEventType type : TYPES) {
+                counts.put(type, events[type.ordinal()].sum());
+            }
+            return counts;
+        }
+
+        double repeatRate(long total) {
+            return total == 0 ? 0 : (double) events[AuditEventType.REPEATED_SCAN.ordinal()].sum() / total;
+        }
+
+        /**
+         * Average over the time between the first and the last scan, at least one minute.
+         */
+        double scansPerMinute(long total) {
+            long span = Math.max(lastScan.get() - firstScan.get(), MILLIS_PER_MINUTE);
+            return total == 0 ? 0 : total * (double) MILLIS_PER_MINUTE / span;
+        }
+    }
+
+    private static final class SessionAggregate extends Aggregate {
+        private final Map<String, Aggregate> scanners = new ConcurrentHashMap<>();
+        private final Map<Long, LongAdder> minutes = new ConcurrentHashMap<>();
+
+        @Override
+        void record(AuditEventType type, long scannedAtMillis) {
+            super.record(type, scannedAtMillis);
+            minutes.computeIfAbsent(Math.floorDiv(scannedAtMillis, MILLIS_PER_MINUTE), minute -> new LongAdder())
+                    .increment();
+        }
+    }
+
+    /**
+     * Adds committed audit rows. Called by {@link AuditWriter} once the insert has committed, so the ids are known;
+     * rows the replay already counts are skipped.
+     */
+    public void record(List<ParcelAudit> audits) {
+        replayLock.lock();
+        try {
+            for (ParcelAudit audit : audits) {
+                if (audit.getId() != null && audit.getId() <= replayedUpTo) continue;
+                record(audit.getSessionId(), audit.getScannedBy(), audit.getEvent(), audit.getScannedAt());
+            }
+        } finally {
+            replayLock.unlock();
+        }
+    }
+
+    private void record(String sessionId, String scannedBy, AuditEventType type, Instant scannedAt) {
+        if (sessionId == null || type == null) return;
+        long at = (scannedAt != null ? scannedAt : Instant.now()).toEpochMilli();
+        SessionAggregate session = sessions.computeIfAbsent(sessionId, id -> new SessionAggregate());
+        session.record(type, at);
+        if (scannedBy != null) {
+            session.scanners.computeIfAbsent(scannedBy, id -> new Aggregate()).record(type, at);
+        }
+    }
+
+    /**
+     * Full summary of one session, including the per-minute series.
+     *
+     * @throws SessionNotFoundException If the session has no recorded scans (or has expired).
+     */
+    public SessionSummary getSummary(String sessionId) {
+        SessionAggregate session = sessions.get(sessionId);
+        if (session == null) {
+            throw new SessionNotFoundException(sessionId);
+        }
+        return summary(sessionId, session, true);
+    }
+
+    /**
+     * Summaries of all retained sessions, most recent first, without per-minute series.
+     */
+    public List<SessionSummary> getSummaries() {
+        return sessions.entrySet().stream()
+                .sorted(Comparator.comparingLong(
+                        (Map.Entry<String, SessionAggregate> entry) -> entry.getValue().lastScan.get()).reversed())
+                .map(entry -> summary(entry.getKey(), entry.getValue(), false))
+                .toList();
+    }
+
+    private static SessionSummary summary(String sessionId, SessionAggregate session, boolean withMinutes) {
+        List<MinuteThroughput> minutes = session.minutes.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .map(entry -> new MinuteThroughput(
+                        Instant.ofEpochMilli(entry.getKey() * MILLIS_PER_MINUTE), entry.getValue().sum()))
+                .toList();
+        MinuteThroughput peak = minutes.stream()
+                .max(Comparator.comparingLong(MinuteThroughput::getScans))
+                .orElse(null);
+        List<ScannerSummary> scanners = session.scanners.entrySet().stream()
+                .map(entry -> scannerSummary(entry.getKey(), entry.getValue()))
+                .sorted(Comparator.comparingLong(ScannerSummary::getTotal).reversed())
+                .toList();
+
+        long total = session.total();
+        return new SessionSummary(sessionId, total, session.eventCounts(), session.repeatRate(total),
+                instant(session.firstScan), instant(session.lastScan), session.scansPerMinute(total),
+                peak, scanners, withMinutes ? minutes : null);
+    }
+
+    private static ScannerSummary scannerSummary(String scannedBy, Aggregate scanner) {
+        long total = scanner.total();
+        return new ScannerSummary(scannedBy, total, scanner.eventCounts(), scanner.repeatRate(total),
+                instant(scanner.firstScan), instant(scanner.lastScan), scanner.scansPerMinute(total));
+    }
+
+    private static Instant instant(AtomicLong epochMillis) {
+        long value = epochMillis.get();
+        return value == Long.MAX_VALUE || value == Long.MIN_VALUE ? null : Instant.ofEpochMilli(value);
+    }
+
+    public void clear() {
+        sessions.clear();
+    }
+
+    /**
+     * Drops sessions whose last scan is older than the retention window.
+     */
+    @Scheduled(fixedDelayString = "${parcel.analytics.cleanup-interval-ms:600000}")
+    public void evictExpired() {
+        long cutoff = Instant.now().minus(retention).toEpochMilli();
+        sessions.values().removeIf(session -> session.lastScan.get() < cutoff);
+    }
+
+    /**
+     * Replays the hot audit table into the aggregates.
+     *
+     * <p>Runs on {@link ApplicationReadyEvent}, when the web server already accepts scans and the async audit
+     * worker may still be inserting queued events, so rows keep being {@link #record recorded} while the cursor
+     * is open. Both sides are split by audit id: the highest id committed when the replay starts is read, and the
+     * aggregates are cleared, under the same lock {@code record} takes. The replay counts rows up to that id,
+     * {@code record} only rows above it, so a row is never counted twice and queued events are not lost.
+     * The retention cutoff is applied in the query, so only the retained window is read.
+     *
+     * <p>Ids come from a pooled sequence and are not ordered by commit time. A row with an id below the bound that
+     * commits after the bound is read is skipped by {@code record} and replayed only if it commits before
+     * the cursor opens.
+     */
+    @Transactional
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long maxId;
+        replayLock.lock();
+        try {
+            maxId = auditRepository.findMaxId();
+            sessions.clear();
+            replayedUpTo = maxId;
+        } finally {
+            replayLock.unlock();
+        }
+        Instant cutoff = Instant.now().minus(retention);
+        try (Stream<AuditSnapshot> events = auditRepository.streamSnapshotsScannedSince(cutoff, maxId)) {
+            events.forEach(audit -> record(audit.sessionId(), audit.scannedBy(), audit.event(), audit.scannedAt()));
+        }
+        log.info("Session analytics rebuilt for {} sessions (audit ids up to {})", sessions.size(), maxId);
+    }
+}
@@ -0,0 +1,181 @@
+package idhub.sortinparcels.service;
+
+import idhub.sortinparcels.dto.RouteManifest;
+import idhub.sortinparcels.dto.RouteProgress;
+import idhub.sortinparcels.enums.ParcelStatus;
+import idhub.sortinparcels.exceptions.RouteNotFoundException;
+import idhub.sortinparcels.model.Parcel;
+import idhub.sortinparcels.utils.PackedTrackingNumbers;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory sort plan of the day: route → zone → tracking numbers, plus per-route progress counters.
+ *
+ * <p>The membership part is immutable and replaced copy-on-write after every import
+ * (only the touched routes and zones are rebuilt), so readers never lock and never see a half-built plan.
+ * Tracking numbers of one zone are kept as a sorted {@link PackedTrackingNumbers} — two {@code long}s per parcel,
+ * decoded only when a manifest is read.
+ *
+ * <p>Pending/scanned counters are plain atomic deltas updated on every committed scan, so they
+ * stay correct regardless of the order in which an import and a scan of the same parcel land here.
+ *
+ * <p>Like {@link ParcelIndex}, it is rebuilt on startup (from the index, not from the database).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SortPlan {
+
+    private final ParcelIndex parcelIndex;
+
+    private volatile Map<String, Map<String, PackedTrackingNumbers>> routes = Map.of();
+    private final Map<String, Counters> counters = new ConcurrentHashMap<>();
+    private final Object writeLock = new Object();
+
+    private static final class Counters {
+        private final AtomicLong pending = new AtomicLong();
+        private final AtomicLong scanned = new AtomicLong();
+
+        private void add(ParcelStatus status) {
+            (status.awaitsSorting() ? pending : scanned).incrementAndGet();
+        }
+    }
+
+    /**
+     * Adds freshly imported parcels to the plan. Called after the import transaction commits.
+     */
+    public void addAll(Collection<Parcel> parcels) {
+        if (parcels.isEmpty()) return;
+        Map<String, Map<String, List<String>>> additions = new HashMap<>();
+        for (Parcel parcel : parcels) {
+            additions.computeIfAbsent(parcel.getRouteNumber(), route -> new HashMap<>())
+                    .computeIfAbsent(parcel.getZoneCode(), zone -> new ArrayList<>())
+                    .add(parcel.getTrackingNumber());
+            counters(parcel.getRouteNumber()).add(parcel.getStatus());
+        }
+        synchronized (writeLock) {
+            routes = merge(routes, additions);
+        }
+    }
+
+    /**
+     * Moves one parcel of the route from pending to scanned. Called after the scan transaction commits.
+     */
+    public void markScanned(String routeNumber) {
+        Counters route = counters(routeNumber);
+        route.pending.decrementAndGet();
+        route.scanned.incrementAndGet();
+    }
+
+    /**
+     * Moves parcels of the route back from scanned to pending after a bulk {@code RETURNED} transition.
+     * Called after the transition commits.
+     */
+    public void returnedToSorting(String routeNumber, long count) {
+        Counters route = counters(routeNumber);
+        route.scanned.addAndGet(-count);
+        route.pending.addAndGet(count);
+    }
+
+    public void clear() {
+        synchronized (writeLock) {
+            routes = Map.of();
+            counters.clear();
+        }
+    }
+
+    /**
+     * Rebuilds the whole plan from {@link ParcelIndex}; runs after the index has been warmed on startup.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void rebuild() {
+        Map<String, Map<String, List<String>>> all = new HashMap<>();
+        Map<String, Counters> rebuilt = new HashMap<>();
+        parcelIndex.forEach((trackingNumber, entry) -> {
+            all.computeIfAbsent(entry.routeNumber(), route -> new HashMap<>())
+                    .computeIfAbsent(entry.zoneCode(), zone -> new ArrayList<>())
+                    .add(trackingNumber);
+            rebuilt.computeIfAbsent(entry.routeNumber(), route -> new Counters()).add(entry.status());
+        });
+        synchronized (writeLock) {
+            routes = merge(Map.of(), all);
+            counters.clear();
+            counters.putAll(rebuilt);
+        }
+        log.info("Sort plan rebuilt with {} routes", routes.size());
+    }
+
+    public List<RouteProgress> progress() {
+        Map<String, Map<String, PackedTrackingNumbers>> plan = routes;
+        return plan.keySet().stream().sorted().map(route -> progress(route, plan.get(route))).toList();
+    }
+
+    public RouteProgress progress(String routeNumber) {
+        return progress(routeNumber, zonesOf(routeNumber));
+    }
+
+    public RouteManifest manifest(String routeNumber) {
+        Map<String, PackedTrackingNumbers> zones = zonesOf(routeNumber);
+        Map<String, List<String>> manifest = new LinkedHashMap<>();
+        zones.keySet().stream().sorted().forEach(zone -> manifest.put(zone, zones.get(zone)));
+        return new RouteManifest(routeNumber, manifest);
+    }
+
+    /**
+     * Sorted tracking numbers of one route in one zone (empty if the route has nothing in that zone).
+     */
+    public List<String> trackingNumbers(String routeNumber, String zoneCode) {
+        PackedTrackingNumbers trackingNumbers = zonesOf(routeNumber).get(zoneCode);
+        return trackingNumbers == null ? List.of() : trackingNumbers;
+    }
+
+    private RouteProgress progress(String routeNumber, Map<String, PackedTrackingNumbers> zones) {
+        Counters route = counters(routeNumber);
+        long pending = route.pending.get();
+        long scanned = route.scanned.get();
+        return new RouteProgress(routeNumber, zones.size(), pending + scanned, pending, scanned);
+    }
+
+    private Map<String, PackedTrackingNumbers> zonesOf(String routeNumber) {
+        Map<String, PackedTrackingNumbers> zones = routes.get(routeNumber);
+        if (zones == null) {
+            throw new RouteNotFoundException(routeNumber);
+        }
+        return zones;
+    }
+
+    private Counters counters(String routeNumber) {
+        return counters.computeIfAbsent(routeNumber, route -> new Counters());
+    }
+
+    /**
+     * Copy-on-write merge: untouched routes and zones are shared with {@code current}.
+     */
+    private static Map<String, Map<String, PackedTrackingNumbers>> merge(Map<String, Map<String, PackedTrackingNumbers>> current,
+                                                            Map<String, Map<String, List<String>>> additions) {
+        Map<String, Map<String, PackedTrackingNumbers>> next = new HashMap<>(current);
+        additions.forEach((route, zoneAdditions) -> {
+            Map<String, PackedTrackingNumbers> zones = new HashMap<>(current.getOrDefault(route, Map.of()));
+            zoneAdditions.forEach((zone, added) ->
+                    zones.put(zone, zones.getOrDefault(zone, PackedTrackingNumbers.EMPTY).merge(added)));
+            next.put(route, Map.copyOf(zones));
+        });
+        return Map.copyOf(next);
+    }
+}
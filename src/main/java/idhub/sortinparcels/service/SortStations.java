@@ -0,0 +1,177 @@
+package idhub.sortinparcels.service;
+
+import idhub.sortinparcels.dto.SortStation;
+import idhub.sortinparcels.dto.StationAssignment;
+import idhub.sortinparcels.exceptions.InvalidStationAssignmentException;
+import idhub.sortinparcels.exceptions.StationNotFoundException;
+import idhub.sortinparcels.model.SortStationRoute;
+import idhub.sortinparcels.repository.SortStationRouteRepository;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static idhub.sortinparcels.utils.TransactionUtil.afterCommit;
+
+/**
+ * In-memory station → routes/zones map used to catch misrouted parcels at scan time.
+ *
+ * <p>Assignments live in {@code sort_station_routes} and are loaded once on startup; a change of a station
+ * replaces the whole immutable map after commit, so the scan path reads it without locking and without a query.
+ * The parcel's route and zone come from {@link ParcelIndex} (or the snapshot already read on an index miss),
+ * so the check costs two hash lookups.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SortStations {
+
+    private final SortStationRouteRepository stationRouteRepository;
+
+    private volatile Map<String, Station> stations = Map.of();
+    private final Object writeLock = new Object();
+
+    /**
+     * Routes and zones accepted at one station.
+     *
+     * @param routes     whole routes
+     * @param routeZones zones of a specific route
+     * @param zones      zones on any route
+     */
+    private record Station(Set<String> routes, Map<String, Set<String>> routeZones, Set<String> zones) {
+
+        private boolean accepts(String routeNumber, String zoneCode) {
+            if (routes.contains(routeNumber) || zones.contains(zoneCode)) return true;
+            Set<String> zonesOfRoute = routeZones.get(routeNumber);
+            return zonesOfRoute != null && zonesOfRoute.contains(zoneCode);
+        }
+
+        private static Station of(List<StationAssignment> assignments) {
+            Set<String> routes = new HashSet<>();
+            Map<String, Set<String>> routeZones = new HashMap<>();
+            Set<String> zones = new HashSet<>();
+            for (StationAssignment assignment : assignments) {
+                if (assignment.getZoneCode() == null) {
+                    routes.add(assignment.getRouteNumber());
+                } else if (assignment.getRouteNumber() == null) {
+                    zones.add(assignment.getZoneCode());
+                } else {
+                    routeZones.computeIfAbsent(assignment.getRouteNumber(), route -> new HashSet<>())
+                            .add(assignment.getZoneCode());
+                }
+            }
+            routeZones.replaceAll((route, zonesOfRoute) -> Set.copyOf(zonesOfRoute));
+            return new Station(Set.copyOf(routes), Map.copyOf(routeZones), Set.copyOf(zones));
+        }
+    }
+
+    /**
+     * Misroute check of the scan path.
+     *
+     * @return {@code null} if the parcel belongs to the station, otherwise the reason to audit
+     * @throws StationNotFoundException if the station has no assignments
+     */
+    public String misrouteReason(String stationId, String routeNumber, String zoneCode) {
+        Station station = stations.get(stationId);
+        if (station == null) {
+            throw new StationNotFoundException(stationId);
+        }
+        if (station.accepts(routeNumber, zoneCode)) return null;
+        return "misrouted at station " + stationId + ": parcel belongs to route " + routeNumber
+                + ", zone " + zoneCode;
+    }
+
+    /**
+     * Fails fast on an unknown station before any scan of a request is applied.
+     */
+    public void requireStation(String stationId) {
+        if (!stations.containsKey(stationId)) {
+            throw new StationNotFoundException(stationId);
+        }
+    }
+
+    /**
+     * Replaces the assignments of a station. An empty list removes the station.
+     */
+    @Transactional
+    public SortStation assign(String stationId, List<StationAssignment> assignments) {
+        for (StationAssignment assignment : assignments) {
+            if (assignment.getRouteNumber() == null && assignment.getZoneCode() == null) {
+                throw new InvalidStationAssignmentException(
+                        "Assignment of station '" + stationId + "' needs a routeNumber, a zoneCode or both");
+            }
+        }
+        List<StationAssignment> accepted = List.copyOf(assignments);
+        stationRouteRepository.deleteByStationId(stationId);
+        stationRouteRepository.saveAll(accepted.stream()
+                .map(assignment -> new SortStationRoute(stationId, assignment.getRouteNumber(), assignment.getZoneCode()))
+                .toList());
+        afterCommit(() -> replace(stationId, accepted));
+        return new SortStation(stationId, accepted);
+    }
+
+    public SortStation getStation(String stationId) {
+        List<StationAssignment> assignments = toAssignments(stationRouteRepository.findByStationId(stationId));
+        if (assignments.isEmpty()) {
+            throw new StationNotFoundException(stationId);
+        }
+        return new SortStation(stationId, assignments);
+    }
+
+    public List<SortStation> getStations() {
+        Map<String, List<SortStationRoute>> byStation = new HashMap<>();
+        stationRouteRepository.findAll()
+                .forEach(row -> byStation.computeIfAbsent(row.getStationId(), id -> new ArrayList<>()).add(row));
+        return byStation.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .map(entry -> new SortStation(entry.getKey(), toAssignments(entry.getValue())))
+                .toList();
+    }
+
+    /**
+     * Loads all assignments on startup.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void reload() {
+        Map<String, List<StationAssignment>> byStation = new HashMap<>();
+        for (SortStationRoute row : stationRouteRepository.findAll()) {
+            byStation.computeIfAbsent(row.getStationId(), id -> new ArrayList<>())
+                    .add(new StationAssignment(row.getRouteNumber(), row.getZoneCode()));
+        }
+        Map<String, Station> loaded = new HashMap<>();
+        byStation.forEach((stationId, assignments) -> loaded.put(stationId, Station.of(assignments)));
+        synchronized (writeLock) {
+            stations = Map.copyOf(loaded);
+        }
+        log.info("Loaded {} sort stations", loaded.size());
+    }
+
+    private void replace(String stationId, List<StationAssignment> assignments) {
+        synchronized (writeLock) {
+            Map<String, Station> updated = new HashMap<>(stations);
+            if (assignments.isEmpty()) {
+                updated.remove(stationId);
+            } else {
+                updated.put(stationId, Station.of(assignments));
+            }
+            stations = Map.copyOf(updated);
+        }
+    }
+
+    private static List<StationAssignment> toAssignments(List<SortStationRoute> rows) {
+        return rows.stream()
+                .sorted(Comparator.comparing(SortStationRoute::getId))
+                .map(row -> new StationAssignment(row.getRouteNumber(), row.getZoneCode()))
+                .toList();
+    }
+}
@@ -0,0 +1,157 @@
+package idhub.sortinparcels.service;
+
+import com.zaxxer.hikari.HikariDataSource;
+import idhub.sortinparcels.enums.ParcelStatus;
+import idhub.sortinparcels.repository.ParcelAuditRepository;
+import idhub.sortinparcels.repository.ParcelRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Startup warm-up ({@code parcel.warmup.enabled}, on in the {@code prod} profile).
+ *
+ * <p>Without it the first scans of a shift pay for opening pool connections, parsing and planning
+ * the scan statements (per connection in H2) and translating HQL in Hibernate. The warm-up:
+ * <ul>
+ *     <li>checks out {@code minimum-idle} connections at once, so the pool opens all of them now;</li>
+ *     <li>runs the scan-path queries {@code parcel.warmup.iterations} times on each of those connections
+ *         with a tracking number that does not exist, in transactions that are rolled back.</li>
+ * </ul>
+ * Nothing is written and no scan metrics are recorded.
+ */
+@Slf4j
+@Component
+public class StartupWarmup {
+
+    /**
+     * Never a real tracking number: the scan UPDATE matches no row.
+     */
+    private static final String WARMUP_TRACKING_NUMBER = "__warmup__";
+
+    private final DataSource dataSource;
+    private final ParcelRepository parcelRepository;
+    private final ParcelAuditRepository auditRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final boolean enabled;
+    private final int iterations;
+
+    public StartupWarmup(DataSource dataSource,
+                         ParcelRepository parcelRepository,
+                         ParcelAuditRepository auditRepository,
+                         TransactionTemplate transactionTemplate,
+                         @Value("${parcel.warmup.enabled:false}") boolean enabled,
+                         @Value("${parcel.warmup.iterations:50}") int iterations) {
+        this.dataSource = dataSource;
+        this.parcelRepository = parcelRepository;
+        this.auditRepository = auditRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+        this.iterations = iterations;
+    }
+
+    /**
+     * Runs right after the index is warmed, before the sort plan is rebuilt from it.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE + 1)
+    public void warmUp() {
+        if (!enabled) return;
+        long start = System.nanoTime();
+        int connections = primePool();
+        primeScanQueries(connections);
+        log.info("Warm-up finished in {} ms: {} connections, {} scan query rounds each",
+                (System.nanoTime() - start) / 1_000_000, connections, iterations);
+    }
+
+    /**
+     * Holds {@code minimum-idle} connections at the same time, forcing the pool to open them.
+     *
+     * @return number of connections opened
+     */
+    private int primePool() {
+        int target = 1;
+        if (dataSource instanceof HikariDataSource hikari) {
+            target = Math.max(1, Math.min(hikari.getMinimumIdle(), hikari.getMaximumPoolSize()));
+        }
+        List<Connection> held = new ArrayList<>(target);
+        try {
+            for (int i = 0; i < target; i++) {
+                Connection connection = dataSource.getConnection();
+                held.add(connection);
+                connection.isValid(1);
+            }
+        } catch (SQLException e) {
+            log.warn("Warm-up opened only {} of {} connections", held.size(), target, e);
+        } finally {
+            for (Connection connection : held) {
+                try {
+                    connection.close();
+                } catch (SQLException e) {
+                    log.debug("Failed to return warm-up connection", e);
+                }
+            }
+        }
+        return Math.max(held.size(), 1);
+    }
+
+    /**
+     * One thread per primed connection, so every connection prepares the scan statements.
+     */
+    private void primeScanQueries(int threads) {
+        try (ExecutorService executor = Executors.newFixedThreadPool(threads,
+                Thread.ofPlatform().name("warmup-", 0).factory())) {
+            List<Future<?>> rounds = new ArrayList<>(threads);
+            for (int i = 0; i < threads; i++) {
+                rounds.add(executor.submit(() -> {
+                    for (int round = 0; round < iterations; round++) {
+                        runScanQueries();
+                    }
+                }));
+            }
+            for (Future<?> round : rounds) {
+                round.get();
+            }
+        } catch (ExecutionException e) {
+            log.warn("Scan query warm-up failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * The statements of {@code ParcelService#scanParcel}, {@code #scanParcels} and the import dedup lookup.
+     */
+    private void runScanQueries() {
+        transactionTemplate.executeWithoutResult(status -> {
+            parcelRepository.findSnapshotByTrackingNumber(WARMUP_TRACKING_NUMBER);
+            parcelRepository.markScanned(WARMUP_TRACKING_NUMBER, ParcelStatus.sourcesOf(ParcelStatus.SCANNED),
+                    Instant.now(), WARMUP_TRACKING_NUMBER);
+            parcelRepository.findSnapshotsByTrackingNumberIn(List.of(WARMUP_TRACKING_NUMBER));
+            parcelRepository.markScannedIn(List.of(WARMUP_TRACKING_NUMBER), ParcelStatus.sourcesOf(ParcelStatus.SCANNED),
+                    Instant.now(), WARMUP_TRACKING_NUMBER, Instant.now());
+            parcelRepository.findChangedByTrackingNumberIn(List.of(WARMUP_TRACKING_NUMBER), ParcelStatus.SCANNED,
+                    Instant.now());
+            parcelRepository.findExistingTrackingNumbers(List.of(WARMUP_TRACKING_NUMBER));
+            auditRepository.findByTrackingNumberOrderByScannedAtAsc(WARMUP_TRACKING_NUMBER);
+            status.setRollbackOnly();
+        });
+    }
+}
@@ -0,0 +1,154 @@
+package idhub.sortinparcels.service;
+
+import idhub.sortinparcels.repository.ParcelRepository;
+import idhub.sortinparcels.utils.BloomFilter;
+import jakarta.transaction.Transactional;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * Bloom filter over all known tracking numbers: answers "definitely unknown" without touching the database.
+ *
+ * <p>Garbage barcodes and parcels of other hubs are rejected by the scan path before the index-miss
+ * database lookup, and import dedup only queries tracking numbers the filter might already contain.
+ * <ul>
+ *     <li>Rebuilt from the {@code parcels} table on startup; until then every number "might" exist,
+ *         so nothing is rejected while the filter is still empty.</li>
+ *     <li>Extended by every import — inside the transaction, so a parcel is never rejected in the moment between
+ *         commit and the after-commit hooks, and again after commit, so a concurrent rebuild cannot lose it.
+ *         A rolled-back import only leaves a few extra bits set.</li>
+ *     <li>Resized on rebuild to twice the current parcel count (at least {@code parcel.filter.expected-insertions}).</li>
+ * </ul>
+ *
+ * <p>Deleted parcels are not removed (a Bloom filter cannot forget); they merely count towards false positives
+ * until the next rebuild.
+ */
+@Slf4j
+@Component
+public class TrackingNumberFilter {
+
+    private final ParcelRepository parcelRepository;
+    private final long expectedInsertions;
+    private final double fpp;
+
+    private volatile BloomFilter filter;
+    /**
+     * Filter being filled by {@link #rebuild()}; receives every {@link #put} while the rebuild streams the table.
+     */
+    private volatile BloomFilter building;
+    private volatile boolean ready;
+
+    private final LongAdder rejects = new LongAdder();
+    private final LongAdder falsePositives = new LongAdder();
+
+    public TrackingNumberFilter(ParcelRepository parcelRepository,
+                                @Value("${parcel.filter.expected-insertions:5000000}") long expectedInsertions,
+                                @Value("${parcel.filter.fpp:0.01}") double fpp) {
+        this.parcelRepository = parcelRepository;
+        this.expectedInsertions = expectedInsertions;
+        this.fpp = fpp;
+        this.filter = new BloomFilter(expectedInsertions, fpp);
+    }
+
+    /**
+     * {@code false} only if the tracking number was never imported; always {@code false} for {@code null}.
+     */
+    public boolean mightExist(String trackingNumber) {
+        return trackingNumber != null && (!ready || filter.mightContain(trackingNumber));
+    }
+
+    /**
+     * Scan-path check: {@code true} if the scanned number is definitely unknown; counted as a fast reject.
+     * A read without a tracking number (missing or blank) is rejected as unknown.
+     */
+    public boolean rejects(String trackingNumber) {
+        if (trackingNumber != null && !trackingNumber.isBlank() && mightExist(trackingNumber)) return false;
+        rejects.increment();
+        return true;
+    }
+
+    /**
+     * Called when a scanned number passed {@link #rejects} but the database has no such parcel.
+     */
+    public void countFalsePositive() {
+        falsePositives.increment();
+    }
+
+    /**
+     * Reads {@link #building} before {@link #filter}: if a rebuild swaps the filter in between, the number still
+     * lands in the new one. For the after-commit put of an import, a rebuild that starts only after the
+     * {@code building} read also starts after that commit, so it streams the number from the table itself.
+     */
+    public void put(String trackingNumber) {
+        BloomFilter rebuilding = building;
+        filter.put(trackingNumber);
+        if (rebuilding != null) rebuilding.put(trackingNumber);
+    }
+
+    public void putAll(Collection<String> trackingNumbers) {
+        trackingNumbers.forEach(this::put);
+    }
+
+    /**
+     * Refills the filter from the {@code parcels} table and swaps it in; concurrent lookups keep using
+     * the previous filter meanwhile. Runs on startup together with the parcel index.
+     */
+    @Transactional
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public synchronized void rebuild() {
+        long parcels = parcelRepository.count();
+        BloomFilter rebuilt = new BloomFilter(Math.max(expectedInsertions, parcels * 2), fpp);
+        building = rebuilt;
+        try (Stream<String> trackingNumbers = parcelRepository.streamAllTrackingNumbers()) {
+            trackingNumbers.forEach(rebuilt::put);
+        }
+        filter = rebuilt;
+        building = null;
+        ready = true;
+        log.info("Tracking-number filter rebuilt for {} parcels: {} bits, {} hashes, expected fpp {}",
+                parcels, rebuilt.bitCount(), rebuilt.hashCount(), rebuilt.expectedFpp());
+    }
+
+    /**
+     * Empties the filter after all parcels were deleted; stays ready, since "no parcels" is exact.
+     */
+    public synchronized void clear() {
+        filter = new BloomFilter(expectedInsertions, fpp);
+    }
+
+    public void writePrometheus(StringBuilder out) {
+        BloomFilter current = filter;
+        long rejected = rejects.sum();
+        long passed = falsePositives.sum();
+        out.append("# HELP parcel_filter_bits Size of the tracking-number Bloom filter in bits\n");
+        out.append("# TYPE parcel_filter_bits gauge\n");
+        out.append("parcel_filter_bits ").append(current.bitCount()).append('\n');
+        out.append("# HELP parcel_filter_bits_set Bits set in the tracking-number Bloom filter\n");
+        out.append("# TYPE parcel_filter_bits_set gauge\n");
+        out.append("parcel_filter_bits_set ").append(current.bitsSet()).append('\n');
+        out.append("# HELP parcel_filter_expected_fpp False-positive probability implied by the current fill\n");
+        out.append("# TYPE parcel_filter_expected_fpp gauge\n");
+        out.append("parcel_filter_expected_fpp ").append(current.expectedFpp()).append('\n');
+        out.append("# HELP parcel_filter_rejects_total Unknown tracking numbers rejected without a database query\n");
+        out.append("# TYPE parcel_filter_rejects_total counter\n");
+        out.append("parcel_filter_rejects_total ").append(rejected).append('\n');
+        out.append("# HELP parcel_filter_false_positives_total Unknown tracking numbers the filter let through "
+                + "to the database\n");
+        out.append("# TYPE parcel_filter_false_positives_total counter\n");
+        out.append("parcel_filter_false_positives_total ").append(passed).append('\n');
+        out.append("# HELP parcel_filter_observed_fpp Share of unknown tracking numbers the filter let through\n");
+        out.append("# TYPE parcel_filter_observed_fpp gauge\n");
+        out.append("parcel_filter_observed_fpp ")
+                .append(rejected + passed == 0 ? 0.0 : (double) passed / (rejected + passed)).append('\n');
+    }
+}
@@ -0,0 +1,103 @@
+package idhub.sortinparcels.utils;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread-safe Bloom filter over strings.
+ * <p>
+ * Sized for {@code expectedInsertions} at a target false-positive probability; bits live in an
+ * {@link AtomicLongArray}, so concurrent {@link #put} and {@link #mightContain} need no lock.
+ * The {@code k} bit positions come from one 64-bit hash split into two halves (Kirsch–Mitzenmacher),
+ * so a check hashes the string once and allocates nothing.
+ * <p>
+ * {@link #mightContain} never returns {@code false} for a string that was put; it may return {@code true}
+ * for one that was not, with a probability reported by {@link #expectedFpp()}.
+ */
+public class BloomFilter {
+
+    private final AtomicLongArray words;
+    private final long bitCount;
+    private final int hashCount;
+    private final LongAdder bitsSet = new LongAdder();
+
+    public BloomFilter(long expectedInsertions, double fpp) {
+        long insertions = Math.max(1, expectedInsertions);
+        long bits = (long) Math.ceil(-insertions * Math.log(fpp) / (Math.log(2) * Math.log(2)));
+        int wordCount = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(1, (bits + 63) >>> 6));
+        this.words = new AtomicLongArray(wordCount);
+        this.bitCount = (long) wordCount << 6;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / insertions * Math.log(2)));
+    }
+
+    public void put(String value) {
+        long hash = hash(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashCount; i++) {
+            long bit = bitIndex(h1 + i * h2);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current;
+            do {
+                current = words.get(word);
+                if ((current & mask) != 0) break;
+            } while (!words.compareAndSet(word, current, current | mask));
+            if ((current & mask) == 0) bitsSet.increment();
+        }
+    }
+
+    public boolean mightContain(String value) {
+        long hash = hash(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashCount; i++) {
+            long bit = bitIndex(h1 + i * h2);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) return false;
+        }
+        return true;
+    }
+
+    public long bitCount() {
+        return bitCount;
+    }
+
+    public int hashCount() {
+        return hashCount;
+    }
+
+    public long bitsSet() {
+        return bitsSet.sum();
+    }
+
+    /**
+     * Probability that {@link #mightContain} answers {@code true} for a string never put,
+     * computed from the current fill: {@code (bitsSet / bitCount) ^ k}. Grows past the target
+     * once more than {@code expectedInsertions} distinct strings have been put.
+     */
+    public double expectedFpp() {
+        return Math.pow((double) bitsSet() / bitCount, hashCount);
+    }
+
+    private long bitIndex(int combinedHash) {
+        // Non-negative remainder of the unsigned 32-bit combination
+        return (combinedHash & 0xFFFFFFFFL) % bitCount;
+    }
+
+    /**
+     * FNV-1a over the UTF-16 chars, finished with the MurmurHash3 64-bit mixer so both halves are well spread.
+     */
+    private static long hash(String value) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            h ^= value.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
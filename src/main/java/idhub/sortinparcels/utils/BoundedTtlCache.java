@@ -0,0 +1,130 @@
+package idhub.sortinparcels.utils;
+
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Spring {@link org.springframework.cache.Cache} with a size bound (LRU) and a time-to-live per entry.
+ * <p>
+ * Backed by an access-ordered {@link LinkedHashMap} under one lock: simple and exact, and cheap enough
+ * for lookup endpoints (the scan hot path is served by {@code ParcelIndex}, not by this cache).
+ * Hits, misses and evictions are counted for metrics.
+ */
+public class BoundedTtlCache extends AbstractValueAdaptingCache {
+
+    private record Entry(Object value, long expiresAt) {
+    }
+
+    private final String name;
+    private final int maxSize;
+    private final long ttlNanos;
+    private final Map<Object, Entry> entries;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public BoundedTtlCache(String name, int maxSize, long ttlSeconds) {
+        super(false);
+        this.name = name;
+        this.maxSize = maxSize;
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Object, Entry> eldest) {
+                if (size() <= BoundedTtlCache.this.maxSize) return false;
+                evictions.increment();
+                return true;
+            }
+        };
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return entries;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.expiresAt() - System.nanoTime() <= 0) {
+                entries.remove(key);
+                evictions.increment();
+                entry = null;
+            }
+            if (entry == null) {
+                misses.increment();
+                return null;
+            }
+            hits.increment();
+            return entry.value();
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper cached = get(key);
+        if (cached != null) {
+            return (T) cached.get();
+        }
+        try {
+            T value = valueLoader.call();
+            put(key, value);
+            return value;
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        Entry entry = new Entry(toStoreValue(value), System.nanoTime() + ttlNanos);
+        synchronized (entries) {
+            entries.put(key, entry);
+        }
+    }
+
+    @Override
+    public void evict(Object key) {
+        synchronized (entries) {
+            entries.remove(key);
+        }
+    }
+
+    @Override
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public long hits() {
+        return hits.sum();
+    }
+
+    public long misses() {
+        return misses.sum();
+    }
+
+    public long evictions() {
+        return evictions.sum();
+    }
+}
@@ -0,0 +1,78 @@
+package idhub.sortinparcels.utils;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free fixed-bucket latency histogram (Prometheus style, cumulative on export).
+ * <p>
+ * Recording is one array scan plus two {@link LongAdder} increments, cheap enough for the scan path.
+ * Percentiles are estimated from bucket bounds, so they are accurate to the bucket width.
+ */
+public class LatencyHistogram {
+
+    /**
+     * Upper bucket bounds in microseconds: 50µs … 2.5s, plus the implicit +Inf bucket.
+     */
+    private static final long[] BOUNDS_MICROS = {
+            50, 100, 250, 500, 1_000, 2_500, 5_000, 10_000, 25_000, 50_000,
+            100_000, 250_000, 500_000, 1_000_000, 2_500_000
+    };
+
+    private final LongAdder[] buckets = new LongAdder[BOUNDS_MICROS.length + 1];
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sumNanos = new LongAdder();
+
+    public LatencyHistogram() {
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    public void record(long nanos) {
+        long micros = nanos / 1_000;
+        int bucket = 0;
+        while (bucket < BOUNDS_MICROS.length && micros > BOUNDS_MICROS[bucket]) {
+            bucket++;
+        }
+        buckets[bucket].increment();
+        count.increment();
+        sumNanos.add(nanos);
+    }
+
+    /**
+     * Estimated latency in seconds below which the given fraction of samples falls
+     * (upper bound of the matching bucket).
+     */
+    public double quantileSeconds(double quantile) {
+        long total = count.sum();
+        if (total == 0) return 0;
+        long rank = (long) Math.ceil(quantile * total);
+        long seen = 0;
+        for (int i = 0; i < BOUNDS_MICROS.length; i++) {
+            seen += buckets[i].sum();
+            if (seen >= rank) return BOUNDS_MICROS[i] / 1_000_000.0;
+        }
+        return Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Appends {@code _bucket}, {@code _sum} and {@code _count} series in Prometheus text format.
+     *
+     * @param labels extra labels without braces, e.g. {@code stage="lookup"}; may be empty
+     */
+    public void writePrometheus(StringBuilder out, String name, String labels) {
+        String prefix = labels.isEmpty() ? "" : labels + ",";
+        long cumulative = 0;
+        for (int i = 0; i < BOUNDS_MICROS.length; i++) {
+            cumulative += buckets[i].sum();
+            out.append(name).append("_bucket{").append(prefix)
+                    .append("le=\"").append(BOUNDS_MICROS[i] / 1_000_000.0).append("\"} ")
+                    .append(cumulative).append('\n');
+        }
+        cumulative += buckets[BOUNDS_MICROS.length].sum();
+        out.append(name).append("_bucket{").append(prefix).append("le=\"+Inf\"} ").append(cumulative).append('\n');
+        String braces = labels.isEmpty() ? "" : "{" + labels + "}";
+        out.append(name).append("_sum").append(braces).append(' ').append(sumNanos.sum() / 1e9).append('\n');
+        out.append(name).append("_count").append(braces).append(' ').append(count.sum()).append('\n');
+    }
+}
@@ -0,0 +1,40 @@
+package idhub.sortinparcels.utils;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+public final class NdjsonUtil {
+
+    private NdjsonUtil() {
+    }
+
+    /**
+     * Builds a response body that writes every produced row as one JSON line
+     * as soon as it is handed over, so memory use does not depend on the number of rows.
+     *
+     * @param objectMapper mapper used for row serialization
+     * @param producer     pushes rows (e.g. from a JDBC cursor) into the given sink
+     */
+    public static StreamingResponseBody ndjson(ObjectMapper objectMapper, Consumer<Consumer<Object>> producer) {
+        return out -> {
+            try (JsonGenerator generator = objectMapper.createGenerator(out)) {
+                // Records are delimited by the newline written after each of them, not by the root separator
+                generator.setRootValueSeparator(null);
+                producer.accept(row -> {
+                    try {
+                        objectMapper.writeValue(generator, row);
+                        // Every record ends with a newline, including the last one, as NDJSON line readers expect
+                        generator.writeRaw('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+    }
+}
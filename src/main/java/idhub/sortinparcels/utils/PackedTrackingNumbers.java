@@ -0,0 +1,101 @@
+package idhub.sortinparcels.utils;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Immutable sorted list of tracking numbers stored as {@link TrackingNumberCodec} pairs in one {@code long[]}.
+ *
+ * <p>16 bytes per number instead of a {@code String} reference, header and {@code byte[]}; elements are
+ * decoded on access. Packed order equals {@code String} order (codec digits follow ASCII order and a missing
+ * character sorts first), so sorting the strings once before packing keeps the list sorted.
+ * Numbers the codec cannot pack are kept as strings and listed after the packed ones.
+ */
+public final class PackedTrackingNumbers extends AbstractList<String> implements RandomAccess {
+
+    public static final PackedTrackingNumbers EMPTY = new PackedTrackingNumbers(new long[0], new String[0]);
+
+    private final long[] packed;
+    private final String[] unpacked;
+
+    private PackedTrackingNumbers(long[] packed, String[] unpacked) {
+        this.packed = packed;
+        this.unpacked = unpacked;
+    }
+
+    public static PackedTrackingNumbers of(Collection<String> trackingNumbers) {
+        return EMPTY.merge(trackingNumbers);
+    }
+
+    /**
+     * New list holding these numbers and {@code added}, sorted.
+     * Only {@code added} is sorted; it is then merged into the packed array in one linear pass,
+     * without decoding the numbers already held.
+     */
+    public PackedTrackingNumbers merge(Collection<String> added) {
+        if (added.isEmpty()) return this;
+        List<String> encodable = new ArrayList<>(added.size());
+        List<String> other = new ArrayList<>();
+        for (String trackingNumber : added) {
+            (TrackingNumberCodec.encodable(trackingNumber) ? encodable : other).add(trackingNumber);
+        }
+        encodable.sort(null);
+
+        long[] merged = new long[packed.length + encodable.size() * 2];
+        int existing = 0;
+        int next = 0;
+        int out = 0;
+        while (next < encodable.size()) {
+            String trackingNumber = encodable.get(next);
+            long high = TrackingNumberCodec.high(trackingNumber);
+            long low = TrackingNumberCodec.low(trackingNumber);
+            // Copy held numbers that sort before the added one; equal ones stay first
+            while (existing < packed.length && compare(packed[existing], packed[existing + 1], high, low) <= 0) {
+                merged[out++] = packed[existing++];
+                merged[out++] = packed[existing++];
+            }
+            merged[out++] = high;
+            merged[out++] = low;
+            next++;
+        }
+        System.arraycopy(packed, existing, merged, out, packed.length - existing);
+
+        String[] unpackedMerged = unpacked;
+        if (!other.isEmpty()) {
+            unpackedMerged = Arrays.copyOf(unpacked, unpacked.length + other.size());
+            for (int i = 0; i < other.size(); i++) {
+                unpackedMerged[unpacked.length + i] = other.get(i);
+            }
+            Arrays.sort(unpackedMerged);
+        }
+        return new PackedTrackingNumbers(merged, unpackedMerged);
+    }
+
+    @Override
+    public String get(int index) {
+        int packedCount = packed.length / 2;
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        return index < packedCount
+                ? TrackingNumberCodec.decode(packed[2 * index], packed[2 * index + 1])
+                : unpacked[index - packedCount];
+    }
+
+    @Override
+    public int size() {
+        return packed.length / 2 + unpacked.length;
+    }
+
+    /**
+     * Packed halves are below {@code 37^12 < 2^63}, so signed comparison of the pair is {@code String} order.
+     */
+    private static int compare(long high, long low, long otherHigh, long otherLow) {
+        int byHigh = Long.compare(high, otherHigh);
+        return byHigh != 0 ? byHigh : Long.compare(low, otherLow);
+    }
+}
@@ -0,0 +1,71 @@
+package idhub.sortinparcels.utils;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import idhub.sortinparcels.dto.ScanResponse;
+import idhub.sortinparcels.enums.ScanOutcome;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Serialises scan replies without per-request serializer lookup or content negotiation.
+ *
+ * <ul>
+ *     <li>JSON — through an {@link ObjectWriter} built once for {@link ScanResponse}.</li>
+ *     <li>Plain text — one line per scan for handheld scanners, e.g. {@code SCANNED 225},
+ *         {@code ALREADY_SCANNED 225 2025-03-20T06:00:12Z scanner01}, {@code MISROUTED 225}, {@code NOT_FOUND JD0146000065427282}.
+ *         The {@code SCANNED} line of each route is built once and reused, so a first scan allocates no reply.</li>
+ * </ul>
+ */
+@Component
+public class ScanReplyWriter {
+
+    public static final MediaType TEXT_PLAIN_UTF8 = new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8);
+
+    private static final byte[] SCANNED_NO_ROUTE = line(ScanOutcome.SCANNED.name());
+
+    private final ObjectWriter jsonWriter;
+    private final Map<String, byte[]> scannedLines = new ConcurrentHashMap<>();
+
+    public ScanReplyWriter(ObjectMapper objectMapper) {
+        this.jsonWriter = objectMapper.writerFor(ScanResponse.class);
+    }
+
+    public byte[] json(ScanResponse response) {
+        try {
+            return jsonWriter.writeValueAsBytes(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialise scan response", e);
+        }
+    }
+
+    public byte[] plainText(ScanResponse response) {
+        ScanOutcome outcome = response.getOutcome() != null ? response.getOutcome() : ScanOutcome.FAILED;
+        return switch (outcome) {
+            case SCANNED -> response.getRouteNumber() == null ? SCANNED_NO_ROUTE
+                    : scannedLines.computeIfAbsent(response.getRouteNumber(), route -> line("SCANNED " + route));
+            case ALREADY_SCANNED -> line("ALREADY_SCANNED " + response.getRouteNumber()
+                    + ' ' + response.getScannedAt() + ' ' + response.getScannedBy());
+            case MISROUTED -> line("MISROUTED " + response.getRouteNumber());
+            case ALREADY_DELIVERED, NOT_FOUND -> line(outcome.name());
+            case FAILED -> line("FAILED " + response.getMessage());
+        };
+    }
+
+    public byte[] notFound(String trackingNumber) {
+        return line("NOT_FOUND " + trackingNumber);
+    }
+
+    public byte[] unknownStation(String stationId) {
+        return line("UNKNOWN_STATION " + stationId);
+    }
+
+    private static byte[] line(String text) {
+        return (text + '\n').getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,84 @@
+package idhub.sortinparcels.utils;
+
+/**
+ * Packs a tracking number into two {@code long}s instead of a {@code String}.
+ *
+ * <p>Tracking numbers such as {@code JD0146000065427282} use digits and upper-case letters only.
+ * Each character becomes a base-37 digit ({@code 0-9} → 1..10, {@code A-Z} → 11..36, 0 = no character),
+ * and twelve digits fit into one {@code long} (37<sup>12</sup> &lt; 2<sup>63</sup>). So any such number of
+ * 1..{@value #MAX_LENGTH} characters maps to a unique non-zero pair {@code (high, low)} and back.
+ * Numbers with other characters, or longer ones, are not {@link #encodable} and stay strings.
+ */
+public final class TrackingNumberCodec {
+
+    public static final int MAX_LENGTH = 24;
+
+    private static final int CHARS_PER_LONG = 12;
+    private static final int RADIX = 37;
+
+    private TrackingNumberCodec() {
+    }
+
+    public static boolean encodable(String trackingNumber) {
+        int length = trackingNumber.length();
+        if (length == 0 || length > MAX_LENGTH) return false;
+        for (int i = 0; i < length; i++) {
+            if (digit(trackingNumber.charAt(i)) == 0) return false;
+        }
+        return true;
+    }
+
+    /**
+     * First twelve characters; only valid for {@link #encodable} numbers.
+     */
+    public static long high(String trackingNumber) {
+        return pack(trackingNumber, 0);
+    }
+
+    /**
+     * Characters 13..24; only valid for {@link #encodable} numbers.
+     */
+    public static long low(String trackingNumber) {
+        return pack(trackingNumber, CHARS_PER_LONG);
+    }
+
+    public static String decode(long high, long low) {
+        char[] chars = new char[MAX_LENGTH];
+        int length = unpack(high, chars, 0);
+        if (length == CHARS_PER_LONG) {
+            length += unpack(low, chars, CHARS_PER_LONG);
+        }
+        return new String(chars, 0, length);
+    }
+
+    private static long pack(String trackingNumber, int from) {
+        long packed = 0;
+        for (int i = from; i < from + CHARS_PER_LONG; i++) {
+            packed = packed * RADIX + (i < trackingNumber.length() ? digit(trackingNumber.charAt(i)) : 0);
+        }
+        return packed;
+    }
+
+    /**
+     * Writes the characters of one packed half and returns how many there were.
+     */
+    private static int unpack(long packed, char[] chars, int offset) {
+        int length = CHARS_PER_LONG;
+        for (int i = CHARS_PER_LONG - 1; i >= 0; i--) {
+            int digit = (int) (packed % RADIX);
+            packed /= RADIX;
+            if (digit == 0) {
+                length = i;
+            } else {
+                chars[offset + i] = digit <= 10 ? (char) ('0' + digit - 1) : (char) ('A' + digit - 11);
+            }
+        }
+        return length;
+    }
+
+    private static int digit(char c) {
+        if (c >= '0' && c <= '9') return c - '0' + 1;
+        if (c >= 'A' && c <= 'Z') return c - 'A' + 11;
+        return 0;
+    }
+}
@@ -0,0 +1,175 @@
+package idhub.sortinparcels.utils;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing hash table from an encoded tracking number ({@link TrackingNumberCodec}) to an {@code int}.
+ *
+ * <p>Keys are stored inline as {@code long} pairs and values in a parallel {@code int[]}: one entry costs
+ * 20 bytes per slot instead of a map node, a {@code String} and its {@code byte[]}. Linear probing keeps
+ * a lookup within one or two cache lines; removal shifts the following entries back, so there are
+ * no tombstones. The pair {@code (0, 0)} marks a free slot, which the codec never produces.
+ *
+ * <p>Not thread-safe; callers guard it with their own lock. {@link #get} may also run under an optimistic read
+ * that is validated afterwards: racing a write it can return a wrong value or throw, but it never loops forever.
+ */
+public class TrackingNumberTable {
+
+    private static final float MAX_LOAD = 0.7f;
+
+    public static final int NO_VALUE = -1;
+
+    private long[] keys;
+    private int[] values;
+    private int mask;
+    private int size;
+    private int resizeAt;
+
+    public TrackingNumberTable(int expectedSize) {
+        allocate(tableSizeFor(expectedSize));
+    }
+
+    public int get(long high, long low) {
+        long[] keys = this.keys;
+        int[] values = this.values;
+        // Mask and probe bound come from the array itself, so a concurrent resize cannot mismatch them
+        int mask = (keys.length >> 1) - 1;
+        int slot = slot(high, low, mask);
+        for (int probes = 0; probes <= mask; probes++, slot = (slot + 1) & mask) {
+            long h = keys[slot << 1];
+            long l = keys[(slot << 1) + 1];
+            if (h == high && l == low) return values[slot];
+            if (h == 0 && l == 0) return NO_VALUE;
+        }
+        return NO_VALUE;
+    }
+
+    /**
+     * @return the previous value, or {@link #NO_VALUE} if the key was absent
+     */
+    public int put(long high, long low, int value) {
+        for (int slot = slot(high, low, mask); ; slot = (slot + 1) & mask) {
+            long h = keys[slot << 1];
+            long l = keys[(slot << 1) + 1];
+            if (h == high && l == low) {
+                int previous = values[slot];
+                values[slot] = value;
+                return previous;
+            }
+            if (h == 0 && l == 0) {
+                keys[slot << 1] = high;
+                keys[(slot << 1) + 1] = low;
+                values[slot] = value;
+                if (++size > resizeAt) resize();
+                return NO_VALUE;
+            }
+        }
+    }
+
+    /**
+     * @return the removed value, or {@link #NO_VALUE} if the key was absent
+     */
+    public int remove(long high, long low) {
+        int slot = slot(high, low, mask);
+        while (true) {
+            long h = keys[slot << 1];
+            long l = keys[(slot << 1) + 1];
+            if (h == 0 && l == 0) return NO_VALUE;
+            if (h == high && l == low) break;
+            slot = (slot + 1) & mask;
+        }
+        int removed = values[slot];
+        // Backward-shift deletion: move later entries of the probe chain into the gap
+        int gap = slot;
+        for (int next = (gap + 1) & mask; ; next = (next + 1) & mask) {
+            long h = keys[next << 1];
+            long l = keys[(next << 1) + 1];
+            if (h == 0 && l == 0) break;
+            int home = slot(h, l, mask);
+            // The entry may move to the gap only if the gap lies on its probe path (home .. next, cyclically)
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                keys[gap << 1] = h;
+                keys[(gap << 1) + 1] = l;
+                values[gap] = values[next];
+                gap = next;
+            }
+        }
+        keys[gap << 1] = 0;
+        keys[(gap << 1) + 1] = 0;
+        size--;
+        return removed;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Visits every entry; the table must not be modified meanwhile.
+     */
+    public void forEach(EntryVisitor visitor) {
+        for (int slot = 0; slot <= mask; slot++) {
+            long h = keys[slot << 1];
+            long l = keys[(slot << 1) + 1];
+            if (h != 0 || l != 0) visitor.visit(h, l, values[slot]);
+        }
+    }
+
+    public void clear() {
+        Arrays.fill(keys, 0);
+        size = 0;
+    }
+
+    /**
+     * Heap held by the key and value arrays.
+     */
+    public long footprintBytes() {
+        return (long) keys.length * Long.BYTES + (long) values.length * Integer.BYTES;
+    }
+
+    @FunctionalInterface
+    public interface EntryVisitor {
+        void visit(long high, long low, int value);
+    }
+
+    private void resize() {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate((mask + 1) << 1);
+        for (int slot = 0; slot < oldValues.length; slot++) {
+            long h = oldKeys[slot << 1];
+            long l = oldKeys[(slot << 1) + 1];
+            if (h == 0 && l == 0) continue;
+            int target = slot(h, l, mask);
+            while (keys[target << 1] != 0 || keys[(target << 1) + 1] != 0) {
+                target = (target + 1) & mask;
+            }
+            keys[target << 1] = h;
+            keys[(target << 1) + 1] = l;
+            values[target] = oldValues[slot];
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity << 1];
+        values = new int[capacity];
+        mask = capacity - 1;
+        resizeAt = (int) (capacity * MAX_LOAD);
+    }
+
+    private static int tableSizeFor(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(16, (int) (expectedSize / MAX_LOAD)) - 1) << 1;
+        return Math.max(16, capacity);
+    }
+
+    /**
+     * Home slot of a key; package-private so tests can build colliding and wrapping probe chains.
+     */
+    static int slot(long high, long low, int mask) {
+        long h = high * 0x9E3779B97F4A7C15L ^ low;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        return (int) h & mask;
+    }
+}
@@ -0,0 +1,91 @@
+package idhub.sortinparcels.service;
+
+import idhub.sortinparcels.dto.ParcelExcelDto;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BinaryManifestReaderTest {
+
+    private final BinaryManifestReader reader = new BinaryManifestReader();
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void readsLengthPrefixedRecords() throws IOException {
+        byte[] manifest = manifest("JD01", "12-34", "225", "JD02", "12-35", "226", "", "12-36", "227");
+        List<ParcelExcelDto> rows = new ArrayList<>();
+
+        int parsed = reader.read(write(manifest), 1000, rows::addAll);
+
+        // The record with a blank tracking number is skipped like in every other format
+        assertEquals(2, parsed);
+        assertEquals(List.of(
+                new ParcelExcelDto("JD01", "12-34", "225"),
+                new ParcelExcelDto("JD02", "12-35", "226")), rows);
+    }
+
+    @Test
+    void readsAnEmptyManifest() throws IOException {
+        assertEquals(0, reader.read(write(BinaryManifestReader.MAGIC), 1000, chunk -> {
+        }));
+    }
+
+    @Test
+    void rejectsAFileWithoutTheMagicHeader() throws IOException {
+        Path file = write("JD01,12-34,225".getBytes(StandardCharsets.UTF_8));
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+                () -> reader.read(file, 1000, chunk -> {
+                }));
+        assertTrue(error.getMessage().contains("SPM1"));
+    }
+
+    @Test
+    void rejectsARecordCutInsideAField() throws IOException {
+        byte[] manifest = manifest("JD01", "12-34", "225", "JD02", "12-35", "226");
+        assertTruncatedInRecord(2, Arrays.copyOf(manifest, manifest.length - 1));
+    }
+
+    @Test
+    void rejectsARecordCutBeforeALengthByte() throws IOException {
+        byte[] manifest = manifest("JD01", "12-34", "225", "JD02", "12-35", "226");
+        // Drop the whole route field of the second record, including its length byte
+        assertTruncatedInRecord(2, Arrays.copyOf(manifest, manifest.length - 4));
+    }
+
+    private void assertTruncatedInRecord(int record, byte[] manifest) throws IOException {
+        Path file = write(manifest);
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+                () -> reader.read(file, 1000, chunk -> {
+                }));
+        assertEquals("Binary manifest is truncated in record " + record, error.getMessage());
+    }
+
+    private static byte[] manifest(String... fields) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.writeBytes(BinaryManifestReader.MAGIC);
+        for (String field : fields) {
+            byte[] bytes = field.getBytes(StandardCharsets.UTF_8);
+            out.write(bytes.length);
+            out.writeBytes(bytes);
+        }
+        return out.toByteArray();
+    }
+
+    private Path write(byte[] content) throws IOException {
+        return Files.write(Files.createTempFile(dir, "manifest-", ".bin"), content);
+    }
+}
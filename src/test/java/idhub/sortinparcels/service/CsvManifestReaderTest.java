@@ -0,0 +1,118 @@
+package idhub.sortinparcels.service;
+
+import idhub.sortinparcels.dto.ParcelExcelDto;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CsvManifestReaderTest {
+
+    private final CsvManifestReader reader = new CsvManifestReader();
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void readsPlainRowsAfterTheHeader() throws IOException {
+        List<ParcelExcelDto> rows = read("""
+                trackingNumber,zoneCode,routeNumber
+                JD01,12-34,225
+                JD02,12-35,226
+                """);
+        assertEquals(List.of(
+                new ParcelExcelDto("JD01", "12-34", "225"),
+                new ParcelExcelDto("JD02", "12-35", "226")), rows);
+    }
+
+    @Test
+    void unquotesFieldsWithEscapedQuotesSeparatorsAndNewlines() throws IOException {
+        List<ParcelExcelDto> rows = read("trackingNumber,zoneCode,routeNumber\n"
+                + "\"JD\"\"01\"\"\",\"12,34\",\"2\n25\"\n"
+                + "\"JD02\" ,12-35,226\n");
+        assertEquals(List.of(
+                new ParcelExcelDto("JD\"01\"", "12,34", "2\n25"),
+                new ParcelExcelDto("JD02", "12-35", "226")), rows);
+    }
+
+    @Test
+    void handlesCrlfBomAndMissingFinalNewline() throws IOException {
+        byte[] bom = {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF};
+        byte[] body = "trackingNumber,zoneCode,routeNumber\r\nJD01,12-34,225\r\nJD02,12-35,226"
+                .getBytes(StandardCharsets.UTF_8);
+        byte[] content = new byte[bom.length + body.length];
+        System.arraycopy(bom, 0, content, 0, bom.length);
+        System.arraycopy(body, 0, content, bom.length, body.length);
+
+        List<ParcelExcelDto> rows = read(content);
+        assertEquals(List.of(
+                new ParcelExcelDto("JD01", "12-34", "225"),
+                new ParcelExcelDto("JD02", "12-35", "226")), rows);
+    }
+
+    @Test
+    void detectsSemicolonSeparatorFromTheHeader() throws IOException {
+        List<ParcelExcelDto> rows = read("""
+                trackingNumber;zoneCode;routeNumber
+                JD01;12-34;225
+                "JD;02";12-35;226
+                """);
+        assertEquals(List.of(
+                new ParcelExcelDto("JD01", "12-34", "225"),
+                new ParcelExcelDto("JD;02", "12-35", "226")), rows);
+    }
+
+    @Test
+    void skipsBlankLinesBlankCellsAndExtraColumns() throws IOException {
+        List<ParcelExcelDto> rows = read("""
+
+                trackingNumber,zoneCode,routeNumber
+
+                JD01,12-34,225,ignored,columns
+                ,12-35,226
+                JD03,,226
+
+                JD04,12-36,227
+                """);
+        assertEquals(List.of(
+                new ParcelExcelDto("JD01", "12-34", "225"),
+                new ParcelExcelDto("JD04", "12-36", "227")), rows);
+    }
+
+    @Test
+    void emitsRowsInChunksOfTheRequestedSize() throws IOException {
+        StringBuilder csv = new StringBuilder("trackingNumber,zoneCode,routeNumber\n");
+        for (int i = 0; i < 5; i++) {
+            csv.append("JD0").append(i).append(",12-34,225\n");
+        }
+        Path file = write(csv.toString().getBytes(StandardCharsets.UTF_8));
+        List<Integer> chunkSizes = new ArrayList<>();
+
+        int parsed = reader.read(file, 2, chunk -> chunkSizes.add(chunk.size()));
+
+        assertEquals(5, parsed);
+        assertEquals(List.of(2, 2, 1), chunkSizes);
+    }
+
+    private List<ParcelExcelDto> read(String content) throws IOException {
+        return read(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private List<ParcelExcelDto> read(byte[] content) throws IOException {
+        List<ParcelExcelDto> rows = new ArrayList<>();
+        int parsed = reader.read(write(content), 1000, rows::addAll);
+        assertEquals(rows.size(), parsed);
+        return rows;
+    }
+
+    private Path write(byte[] content) throws IOException {
+        return Files.write(Files.createTempFile(dir, "manifest-", ".csv"), content);
+    }
+}
@@ -0,0 +1,94 @@
+package idhub.sortinparcels.service;
+
+import idhub.sortinparcels.dto.ParcelExcelDto;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ExcelServiceTest {
+
+    private final ExcelService excelService = new ExcelService();
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void streamsRowsThroughTheFileBackedSharedStrings() throws Exception {
+        Path file = workbook(
+                new Object[]{"trackingNumber", "zoneCode", "routeNumber"},
+                new Object[]{"JD01", "12-34", "225"},
+                new Object[]{"JD02", "12-34", 226d},
+                new Object[]{"ЖД03", "12-35", "225"},
+                new Object[]{"", "12-35", "225"});
+        List<ParcelExcelDto> rows = new ArrayList<>();
+
+        int parsed = excelService.streamExcel(file, 2, rows::addAll);
+
+        assertEquals(3, parsed);
+        assertEquals(List.of(
+                new ParcelExcelDto("JD01", "12-34", "225"),
+                new ParcelExcelDto("JD02", "12-34", "226"),
+                new ParcelExcelDto("ЖД03", "12-35", "225")), rows);
+    }
+
+    @Test
+    void sharedStringsAreReadBackFromTheSpoolAndDeletedOnClose() throws Exception {
+        Path file = workbook(
+                new Object[]{"A1", "Ünïcødé"},
+                new Object[]{"A1", ""});
+        Path tempDir = Path.of(System.getProperty("java.io.tmpdir"));
+        long spoolFilesBefore = countSpoolFiles(tempDir);
+
+        try (OPCPackage pkg = OPCPackage.open(file.toFile(), PackageAccess.READ)) {
+            FileBackedSharedStrings strings = FileBackedSharedStrings.open(pkg);
+            assertEquals(3, strings.getUniqueCount());
+            List<String> items = new ArrayList<>();
+            for (int i = 0; i < strings.getUniqueCount(); i++) {
+                items.add(strings.getItemAt(i).getString());
+            }
+            assertEquals(List.of("A1", "Ünïcødé", ""), items);
+            assertThrows(IndexOutOfBoundsException.class, () -> strings.getItemAt(3));
+
+            strings.close();
+        }
+        assertEquals(spoolFilesBefore, countSpoolFiles(tempDir));
+    }
+
+    private Path workbook(Object[]... rows) throws Exception {
+        Path file = Files.createTempFile(dir, "manifest-", ".xlsx");
+        try (XSSFWorkbook workbook = new XSSFWorkbook(); OutputStream out = Files.newOutputStream(file)) {
+            Sheet sheet = workbook.createSheet();
+            for (int r = 0; r < rows.length; r++) {
+                Row row = sheet.createRow(r);
+                for (int c = 0; c < rows[r].length; c++) {
+                    if (rows[r][c] instanceof Double number) {
+                        row.createCell(c).setCellValue(number);
+                    } else {
+                        row.createCell(c).setCellValue((String) rows[r][c]);
+                    }
+                }
+            }
+            workbook.write(out);
+        }
+        return file;
+    }
+
+    private static long countSpoolFiles(Path tempDir) throws Exception {
+        try (var files = Files.list(tempDir)) {
+            return files.filter(path -> path.getFileName().toString().startsWith("manifest-sst-")).count();
+        }
+    }
+}
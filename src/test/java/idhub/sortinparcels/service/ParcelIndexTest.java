@@ -0,0 +1,113 @@
+package idhub.sortinparcels.service;
+
+import idhub.sortinparcels.dto.IndexStats;
+import idhub.sortinparcels.dto.ParcelSnapshot;
+import idhub.sortinparcels.enums.ParcelStatus;
+import idhub.sortinparcels.repository.ParcelRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+class ParcelIndexTest {
+
+    private final ParcelIndex index = new ParcelIndex(mock(ParcelRepository.class));
+
+    @Test
+    void storesAndReturnsTheIndexedState() {
+        Instant scannedAt = Instant.parse("2025-03-05T08:15:30.123456789Z");
+        index.put(new ParcelSnapshot("JD0146000065427282", "12-34", "225", ParcelStatus.SCANNED, scannedAt, "scanner01"));
+        index.put(new ParcelSnapshot("JD0146000065427283", "12-35", "225", ParcelStatus.PENDING, null, null));
+
+        assertEquals(new ParcelIndex.Entry(ParcelStatus.SCANNED, "12-34", "225", scannedAt, "scanner01"),
+                index.lookup("JD0146000065427282").orElseThrow());
+        assertEquals(new ParcelIndex.Entry(ParcelStatus.PENDING, "12-35", "225", null, null),
+                index.lookup("JD0146000065427283").orElseThrow());
+        assertTrue(index.lookup("JD0146000065427284").isEmpty());
+    }
+
+    @Test
+    void markScannedAndMarkStatusUpdateOnlyTheirFields() {
+        index.put(new ParcelSnapshot("JD01", "12-34", "225", ParcelStatus.PENDING, null, null));
+        Instant scannedAt = Instant.parse("2025-03-05T08:15:30Z");
+
+        index.markScanned("JD01", scannedAt, "scanner01");
+        index.markStatus("JD01", ParcelStatus.LOADED);
+        index.markScanned("UNKNOWN1", scannedAt, "scanner01");
+
+        assertEquals(new ParcelIndex.Entry(ParcelStatus.LOADED, "12-34", "225", scannedAt, "scanner01"),
+                index.lookup("JD01").orElseThrow());
+        assertFalse(index.contains("UNKNOWN1"));
+    }
+
+    @Test
+    void numbersTheCodecCannotPackUseTheFallbackMap() {
+        index.put(new ParcelSnapshot("jd-0146/7", "12-34", "225", ParcelStatus.PENDING, null, null));
+        index.markScanned("jd-0146/7", Instant.EPOCH, "scanner01");
+
+        assertEquals(ParcelStatus.SCANNED, index.lookup("jd-0146/7").orElseThrow().status());
+        IndexStats stats = index.stats();
+        assertEquals(1, stats.getSize());
+        assertEquals(1, stats.getUncompressed());
+
+        index.evict("jd-0146/7");
+        assertFalse(index.contains("jd-0146/7"));
+    }
+
+    @Test
+    void evictedRowsAreReused() {
+        for (int i = 0; i < 2_000; i++) {
+            index.put(new ParcelSnapshot("JD" + i, "Z" + i % 7, "R" + i % 3, ParcelStatus.PENDING, null, null));
+        }
+        for (int i = 0; i < 1_000; i++) {
+            index.evict("JD" + i);
+        }
+        // New parcels take the freed rows: neither the row columns nor the table grow
+        long footprint = index.stats().getFootprintBytes();
+        for (int i = 0; i < 1_000; i++) {
+            index.put(new ParcelSnapshot("NEW" + i, "Z1", "R1", ParcelStatus.PENDING, null, null));
+        }
+
+        IndexStats stats = index.stats();
+        assertEquals(2_000, stats.getSize());
+        assertEquals(1_000, stats.getEvictions());
+        assertEquals(footprint, stats.getFootprintBytes());
+        assertEquals("Z" + 1_500 % 7, index.lookup("JD1500").orElseThrow().zoneCode());
+        assertEquals("Z1", index.lookup("NEW999").orElseThrow().zoneCode());
+        assertTrue(index.lookup("JD999").isEmpty());
+    }
+
+    @Test
+    void containsIsNotCountedAsHitOrMiss() {
+        index.put(new ParcelSnapshot("JD01", "12-34", "225", ParcelStatus.PENDING, null, null));
+        assertTrue(index.contains("JD01"));
+        assertFalse(index.contains("JD02"));
+        index.lookup("JD01");
+        index.lookup("JD02");
+
+        IndexStats stats = index.stats();
+        assertEquals(1, stats.getHits());
+        assertEquals(1, stats.getMisses());
+    }
+
+    @Test
+    void forEachVisitsPackedAndFallbackEntriesAndClearEmpties() {
+        index.put(new ParcelSnapshot("JD01", "12-34", "225", ParcelStatus.PENDING, null, null));
+        index.put(new ParcelSnapshot("jd-02", "12-35", "226", ParcelStatus.PENDING, null, null));
+
+        Map<String, String> routes = new HashMap<>();
+        index.forEach((trackingNumber, entry) -> routes.put(trackingNumber, entry.routeNumber()));
+        assertEquals(Map.of("JD01", "225", "jd-02", "226"), routes);
+
+        index.clear();
+        assertEquals(0, index.stats().getSize());
+        assertTrue(index.lookup("JD01").isEmpty());
+        assertTrue(index.lookup("jd-02").isEmpty());
+    }
+}
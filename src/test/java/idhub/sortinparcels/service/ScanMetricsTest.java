@@ -0,0 +1,29 @@
+package idhub.sortinparcels.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ScanMetricsTest {
+
+    @Test
+    void escapesBackslashQuoteAndNewlineInLabelValues() {
+        assertEquals("a\\\\b\\\"c\\nd", MetricsExporter.escapeLabelValue("a\\b\"c\nd"));
+        assertEquals("null", MetricsExporter.escapeLabelValue(null));
+        String plain = "12-34";
+        assertSame(plain, MetricsExporter.escapeLabelValue(plain));
+    }
+
+    @Test
+    void slowScanLabelsAreEscaped() {
+        ScanMetrics metrics = new ScanMetrics(0);
+        metrics.recordScan(1_000, "R\"1", "Z\n\\2");
+
+        StringBuilder out = new StringBuilder();
+        metrics.writePrometheus(out);
+
+        assertTrue(out.toString().contains("parcel_scan_slow_total{route=\"R\\\"1\",zone=\"Z\\n\\\\2\"} 1\n"));
+    }
+}
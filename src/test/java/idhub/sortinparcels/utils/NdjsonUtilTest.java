@@ -0,0 +1,33 @@
+package idhub.sortinparcels.utils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class NdjsonUtilTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void terminatesEveryRecordIncludingTheLastWithANewline() throws IOException {
+        assertEquals("{\"id\":1}\n{\"id\":2}\n", write(List.of(Map.of("id", 1), Map.of("id", 2))));
+    }
+
+    @Test
+    void writesNothingForNoRows() throws IOException {
+        assertEquals("", write(List.of()));
+    }
+
+    private String write(List<?> rows) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        NdjsonUtil.ndjson(objectMapper, sink -> rows.forEach(sink)).writeTo(out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
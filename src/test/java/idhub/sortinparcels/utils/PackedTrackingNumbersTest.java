@@ -0,0 +1,69 @@
+package idhub.sortinparcels.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertIterableEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PackedTrackingNumbersTest {
+
+    @Test
+    void keepsNumbersSortedAndUnpackableOnesLast() {
+        PackedTrackingNumbers numbers = PackedTrackingNumbers.of(List.of("JD02", "jd-lower", "JD010", "AB", "JD01"));
+        assertIterableEquals(List.of("AB", "JD01", "JD010", "JD02", "jd-lower"), numbers);
+        assertEquals(5, numbers.size());
+    }
+
+    @Test
+    void mergeInterleavesWithHeldNumbersAndKeepsDuplicates() {
+        PackedTrackingNumbers held = PackedTrackingNumbers.of(List.of("B2", "D4", "F6"));
+        PackedTrackingNumbers merged = held.merge(List.of("G7", "A1", "D4", "C3", "x-1"));
+
+        assertIterableEquals(List.of("A1", "B2", "C3", "D4", "D4", "F6", "G7", "x-1"), merged);
+        // The original list is immutable
+        assertIterableEquals(List.of("B2", "D4", "F6"), held);
+    }
+
+    @Test
+    void mergingNothingReturnsTheSameList() {
+        PackedTrackingNumbers held = PackedTrackingNumbers.of(List.of("A1"));
+        assertSame(held, held.merge(List.of()));
+    }
+
+    @Test
+    void repeatedMergesMatchASortedStringList() {
+        Random random = new Random(11);
+        PackedTrackingNumbers numbers = PackedTrackingNumbers.EMPTY;
+        List<String> packable = new ArrayList<>();
+        List<String> unpackable = new ArrayList<>();
+        for (int chunk = 0; chunk < 200; chunk++) {
+            List<String> added = new ArrayList<>();
+            for (int i = random.nextInt(40); i > 0; i--) {
+                String trackingNumber = random.nextInt(25) == 0
+                        ? "ext-" + random.nextInt(1_000)
+                        : "JD" + Long.toString(random.nextLong() & Long.MAX_VALUE, 36).toUpperCase();
+                added.add(trackingNumber);
+                (TrackingNumberCodec.encodable(trackingNumber) ? packable : unpackable).add(trackingNumber);
+            }
+            numbers = numbers.merge(added);
+        }
+        packable.sort(null);
+        unpackable.sort(null);
+        List<String> expected = new ArrayList<>(packable);
+        expected.addAll(unpackable);
+        assertIterableEquals(expected, numbers);
+    }
+
+    @Test
+    void rejectsIndexesOutOfRange() {
+        PackedTrackingNumbers numbers = PackedTrackingNumbers.of(List.of("A1", "a-1"));
+        assertThrows(IndexOutOfBoundsException.class, () -> numbers.get(2));
+        assertThrows(IndexOutOfBoundsException.class, () -> numbers.get(-1));
+    }
+}
@@ -0,0 +1,87 @@
+package idhub.sortinparcels.utils;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TrackingNumberCodecTest {
+
+    private static final String ALPHABET = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZ";
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "7",                          // 1 character
+            "JD0146000065",               // 12: fills the high half exactly
+            "JD0146000065Z",              // 13: first character of the low half
+            "JD0146000065427282ZZZZ99",   // 24: both halves full
+            "000000000000000000000000",   // leading zeros are characters, not padding
+            "Z"
+    })
+    void roundTripsAtHalfBoundaries(String trackingNumber) {
+        assertTrue(TrackingNumberCodec.encodable(trackingNumber));
+        long high = TrackingNumberCodec.high(trackingNumber);
+        long low = TrackingNumberCodec.low(trackingNumber);
+        assertEquals(trackingNumber, TrackingNumberCodec.decode(high, low));
+        assertTrue(high > 0, "high half must never be 0, (0, 0) marks a free table slot");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "jd0146", "JD-0146", "JD 0146", "JD0146000065427282ZZZZ999", "ПОШТА1"})
+    void rejectsNumbersOutsideTheAlphabetOrTooLong(String trackingNumber) {
+        assertFalse(TrackingNumberCodec.encodable(trackingNumber));
+    }
+
+    @Test
+    void distinguishesTrailingZerosFromShorterNumbers() {
+        assertNotEquals(
+                TrackingNumberCodec.high("JD01") + ":" + TrackingNumberCodec.low("JD01"),
+                TrackingNumberCodec.high("JD010") + ":" + TrackingNumberCodec.low("JD010"));
+        assertEquals("JD010", TrackingNumberCodec.decode(TrackingNumberCodec.high("JD010"), TrackingNumberCodec.low("JD010")));
+    }
+
+    @Test
+    void roundTripsRandomNumbersOfEveryLength() {
+        Random random = new Random(42);
+        for (int i = 0; i < 20_000; i++) {
+            String trackingNumber = randomNumber(random, 1 + random.nextInt(TrackingNumberCodec.MAX_LENGTH));
+            String decoded = TrackingNumberCodec.decode(
+                    TrackingNumberCodec.high(trackingNumber), TrackingNumberCodec.low(trackingNumber));
+            assertEquals(trackingNumber, decoded);
+        }
+    }
+
+    @Test
+    void packedOrderEqualsStringOrder() {
+        Random random = new Random(7);
+        List<String> numbers = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            numbers.add(randomNumber(random, 1 + random.nextInt(TrackingNumberCodec.MAX_LENGTH)));
+        }
+        numbers.add("JD01");
+        numbers.add("JD010");
+        numbers.add("JD01A");
+        for (String a : numbers) {
+            String b = numbers.get(random.nextInt(numbers.size()));
+            int byHigh = Long.compare(TrackingNumberCodec.high(a), TrackingNumberCodec.high(b));
+            int packed = byHigh != 0 ? byHigh : Long.compare(TrackingNumberCodec.low(a), TrackingNumberCodec.low(b));
+            assertEquals(Integer.signum(a.compareTo(b)), Integer.signum(packed), a + " vs " + b);
+        }
+    }
+
+    private static String randomNumber(Random random, int length) {
+        StringBuilder number = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            number.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+        }
+        return number.toString();
+    }
+}
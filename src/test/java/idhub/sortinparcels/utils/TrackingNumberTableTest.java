@@ -0,0 +1,126 @@
+package idhub.sortinparcels.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TrackingNumberTableTest {
+
+    /**
+     * {@code new TrackingNumberTable(1)} starts with 16 slots.
+     */
+    private static final int MASK = 15;
+
+    @Test
+    void putGetAndOverwrite() {
+        TrackingNumberTable table = new TrackingNumberTable(16);
+        assertEquals(TrackingNumberTable.NO_VALUE, table.put(1, 2, 10));
+        assertEquals(10, table.put(1, 2, 11));
+        assertEquals(11, table.get(1, 2));
+        assertEquals(TrackingNumberTable.NO_VALUE, table.get(2, 1));
+        assertEquals(1, table.size());
+    }
+
+    @Test
+    void backwardShiftDeletionAcrossTheWrapAround() {
+        TrackingNumberTable table = new TrackingNumberTable(1);
+        // Three keys homed in the last slot occupy slots 15, 0 and 1; a key homed in slot 0 is pushed to slot 2
+        List<long[]> lastSlot = keysWithHome(MASK, 3);
+        long[] firstSlot = keysWithHome(0, 1).getFirst();
+        for (int i = 0; i < lastSlot.size(); i++) {
+            table.put(lastSlot.get(i)[0], lastSlot.get(i)[1], i);
+        }
+        table.put(firstSlot[0], firstSlot[1], 100);
+
+        // Removing the head of the chain shifts every later entry back over the end of the array
+        assertEquals(0, table.remove(lastSlot.getFirst()[0], lastSlot.getFirst()[1]));
+        assertEquals(TrackingNumberTable.NO_VALUE, table.get(lastSlot.getFirst()[0], lastSlot.getFirst()[1]));
+        assertEquals(1, table.get(lastSlot.get(1)[0], lastSlot.get(1)[1]));
+        assertEquals(2, table.get(lastSlot.get(2)[0], lastSlot.get(2)[1]));
+        assertEquals(100, table.get(firstSlot[0], firstSlot[1]));
+        assertEquals(3, table.size());
+
+        // A hole left in the middle of the chain must not cut off the key homed in slot 0
+        assertEquals(1, table.remove(lastSlot.get(1)[0], lastSlot.get(1)[1]));
+        assertEquals(2, table.get(lastSlot.get(2)[0], lastSlot.get(2)[1]));
+        assertEquals(100, table.get(firstSlot[0], firstSlot[1]));
+        assertEquals(TrackingNumberTable.NO_VALUE, table.remove(lastSlot.get(1)[0], lastSlot.get(1)[1]));
+        assertEquals(2, table.size());
+    }
+
+    @Test
+    void resizeKeepsEveryEntry() {
+        TrackingNumberTable table = new TrackingNumberTable(1);
+        long initialFootprint = table.footprintBytes();
+        for (int i = 1; i <= 50_000; i++) {
+            table.put(i, i * 31L, i);
+        }
+        assertEquals(50_000, table.size());
+        assertTrue(table.footprintBytes() > initialFootprint);
+        for (int i = 1; i <= 50_000; i++) {
+            assertEquals(i, table.get(i, i * 31L));
+        }
+        int[] visited = {0};
+        table.forEach((high, low, value) -> {
+            assertEquals(high * 31L, low);
+            assertEquals(high, value);
+            visited[0]++;
+        });
+        assertEquals(50_000, visited[0]);
+    }
+
+    @Test
+    void behavesLikeAHashMapUnderRandomOperations() {
+        Random random = new Random(2025);
+        TrackingNumberTable table = new TrackingNumberTable(1);
+        Map<Long, Integer> expected = new HashMap<>();
+        for (int op = 0; op < 200_000; op++) {
+            // A small key space keeps probe chains long and makes removals hit them
+            long high = 1 + random.nextInt(300);
+            long low = high * 7;
+            switch (random.nextInt(3)) {
+                case 0 -> {
+                    int value = random.nextInt(1_000);
+                    Integer previous = expected.put(high, value);
+                    assertEquals(previous == null ? TrackingNumberTable.NO_VALUE : previous, table.put(high, low, value));
+                }
+                case 1 -> {
+                    Integer removed = expected.remove(high);
+                    assertEquals(removed == null ? TrackingNumberTable.NO_VALUE : removed, table.remove(high, low));
+                }
+                default -> assertEquals(expected.getOrDefault(high, TrackingNumberTable.NO_VALUE), table.get(high, low));
+            }
+            assertEquals(expected.size(), table.size());
+        }
+        expected.forEach((high, value) -> assertEquals(value, table.get(high, high * 7)));
+    }
+
+    @Test
+    void clearEmptiesTheTable() {
+        TrackingNumberTable table = new TrackingNumberTable(4);
+        table.put(5, 6, 1);
+        table.clear();
+        assertEquals(0, table.size());
+        assertEquals(TrackingNumberTable.NO_VALUE, table.get(5, 6));
+    }
+
+    /**
+     * Keys with the given home slot in a 16-slot table.
+     */
+    private static List<long[]> keysWithHome(int home, int count) {
+        List<long[]> keys = new ArrayList<>();
+        for (long high = 1; keys.size() < count; high++) {
+            if (TrackingNumberTable.slot(high, 1, MASK) == home) {
+                keys.add(new long[]{high, 1});
+            }
+        }
+        return keys;
+    }
+}